@@ -0,0 +1,58 @@
+package com.example.decryption.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the benchmarks once per requested thread count and writes machine-readable results.
+ * Usage: {@code BenchmarkRunner [--threads 1,2,4] [--out dir] [include regexp...]}.
+ * Each thread count produces {@code jmh-results-t<threads>.json} in the output directory.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int[] threadCounts = {1, Runtime.getRuntime().availableProcessors()};
+        String outputDirectory = ".";
+        List<String> includes = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threadCounts = parseThreads(args[++i]);
+                case "--out" -> outputDirectory = args[++i];
+                default -> includes.add(args[i]);
+            }
+        }
+        if (includes.isEmpty()) {
+            includes.add(BenchmarkRunner.class.getPackageName() + ".*Benchmark");
+        }
+
+        for (int threads : threadCounts) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(outputDirectory + "/jmh-results-t" + threads + ".json");
+            for (String include : includes) {
+                options.include(include);
+            }
+            new Runner(options.build()).run();
+        }
+    }
+
+    private static int[] parseThreads(String value) {
+        String[] parts = value.split(",");
+        int[] threads = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            threads[i] = Integer.parseInt(parts[i].trim());
+        }
+        return threads;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.decryption.bench;
+
+import com.example.decryption.util.AsyncLogWriter;
+import com.example.decryption.util.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Shared setup for benchmarks
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Moves log I/O to the background writer and drops entries when it falls behind,
+     * so benchmarks of game logic do not measure the disk
+     */
+    static void quietLogging() {
+        redirectLogs();
+        Logger.enableAsync(1 << 16, AsyncLogWriter.OverflowPolicy.DROP);
+    }
+
+    /**
+     * Points the log at a temporary directory, so benchmark runs leave the game's own log alone.
+     * Must run before the first entry is written.
+     */
+    static void redirectLogs() {
+        if (System.getProperty("decryption.log.dir") == null) {
+            System.setProperty("decryption.log.dir", tempDirectory("bench-logs").toString());
+        }
+    }
+
+    static Path tempDirectory(String prefix) {
+        try {
+            return Files.createTempDirectory(prefix);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.decryption.bench;
+
+import com.example.decryption.model.GameService;
+import com.example.decryption.model.ScoreManager;
+import com.example.decryption.model.WordListProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game start and guess latency of a single {@link GameService}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        WordListProvider wordListProvider;
+        ScoreManager scoreManager;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            BenchmarkSupport.quietLogging();
+            wordListProvider = new WordListProvider();
+            scoreManager = ScoreManager.inMemory();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Game {
+        GameService gameService;
+        List<String> options;
+        int nextGuess;
+
+        @Setup(Level.Trial)
+        public void setUp(Shared shared) {
+            gameService = new GameService(shared.wordListProvider, shared.scoreManager);
+        }
+
+        @Setup(Level.Iteration)
+        public void startGame() {
+            restart();
+        }
+
+        void restart() {
+            gameService.startNewGame();
+            options = gameService.getGameState().getWordOptions();
+            nextGuess = 0;
+        }
+    }
+
+    @Benchmark
+    public void startNewGame(Game game) {
+        game.gameService.startNewGame();
+    }
+
+    /**
+     * Plays guesses in board order, starting a new game whenever one ends
+     */
+    @Benchmark
+    public GameService.GuessResult makeGuess(Game game) {
+        if (game.gameService.getGameState().isGameOver()) {
+            game.restart();
+        }
+        return game.gameService.makeGuess(game.options.get(game.nextGuess++));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.decryption.bench;
+
+import com.example.decryption.model.GameService;
+import com.example.decryption.model.GameSessionManager;
+import com.example.decryption.model.ScoreManager;
+import com.example.decryption.model.WordListProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guess throughput of the multi-session engine; run with several thread counts to check scaling
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameSessionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Engine {
+        @Param({"10000"})
+        public int sessions;
+
+        GameSessionManager manager;
+        String[] sessionIds;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            BenchmarkSupport.quietLogging();
+            manager = new GameSessionManager(new WordListProvider(), ScoreManager.inMemory(), 64, 0);
+            sessionIds = new String[sessions];
+            for (int i = 0; i < sessions; i++) {
+                sessionIds[i] = manager.createSession();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            manager.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public GameService.GuessResult makeGuess(Engine engine, Cursor cursor) {
+        String id = engine.sessionIds[Math.floorMod(cursor.next++ * 31 + (int) Thread.currentThread().getId() * 7919, engine.sessionIds.length)];
+        return engine.manager.withSession(id, service -> {
+            if (service.getGameState().isGameOver()) {
+                service.startNewGame();
+            }
+            List<String> options = service.getGameState().getWordOptions();
+            return service.makeGuess(options.get(service.getGameState().getCurrentAttempt()));
+        });
+    }
+}
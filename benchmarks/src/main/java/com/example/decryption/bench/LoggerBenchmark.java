@@ -0,0 +1,56 @@
+package com.example.decryption.bench;
+
+import com.example.decryption.util.AsyncLogWriter;
+import com.example.decryption.util.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logging throughput in synchronous mode and with the asynchronous writer.
+ * Entries go to a temporary log directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+
+    @Param({"SYNC", "BLOCK", "DROP"})
+    public String mode;
+
+    private Logger logger;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkSupport.redirectLogs();
+        logger = new Logger("LoggerBenchmark");
+        if (!"SYNC".equals(mode)) {
+            Logger.enableAsync(1 << 16, AsyncLogWriter.OverflowPolicy.valueOf(mode));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Logger.shutdown();
+    }
+
+    @Benchmark
+    public void info() {
+        logger.info("Player won on attempt 3 with score 100");
+    }
+}
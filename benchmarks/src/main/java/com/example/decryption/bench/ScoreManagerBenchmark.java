@@ -0,0 +1,64 @@
+package com.example.decryption.bench;
+
+import com.example.decryption.model.ScoreManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording one game result: persisted into score files in a temporary directory, and
+ * in memory only, where run with several threads it shows what concurrent sessions pay to share
+ * one score manager
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreManagerBenchmark {
+
+    private Path directory;
+    private ScoreManager scoreManager;
+    private ScoreManager inMemory;
+    private int attempt;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkSupport.quietLogging();
+        directory = BenchmarkSupport.tempDirectory("bench-scores");
+        scoreManager = new ScoreManager(directory);
+        inMemory = ScoreManager.inMemory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        scoreManager.close();
+        BenchmarkSupport.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void recordGameResult() {
+        attempt = attempt % 5 + 1;
+        scoreManager.recordGameResult(attempt < 5, attempt);
+    }
+
+    @Benchmark
+    public void recordGameResultInMemory() {
+        attempt = attempt % 5 + 1;
+        inMemory.recordGameResult(attempt < 5, attempt);
+    }
+}
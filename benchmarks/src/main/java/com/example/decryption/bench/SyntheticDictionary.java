@@ -0,0 +1,53 @@
+package com.example.decryption.bench;
+
+import com.example.decryption.model.BinaryDictionary;
+import com.example.decryption.model.WordBucket;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * Creates binary dictionaries of arbitrary size for benchmarks.
+ * Words are random uppercase strings spread evenly over the lengths the game uses.
+ */
+final class SyntheticDictionary {
+
+    static final int MIN_LENGTH = 3;
+    static final int MAX_LENGTH = 14;
+
+    private SyntheticDictionary() {
+    }
+
+    /**
+     * Writes a dictionary of the given size to a temporary file
+     */
+    static Path create(int wordCount) throws IOException {
+        Path file = Files.createTempFile("bench-words-" + wordCount, ".dict");
+        file.toFile().deleteOnExit();
+        BinaryDictionary.write(buckets(wordCount), file);
+        return file;
+    }
+
+    static Map<Integer, WordBucket> buckets(int wordCount) {
+        SplittableRandom random = new SplittableRandom(wordCount);
+        int lengths = MAX_LENGTH - MIN_LENGTH + 1;
+        Map<Integer, WordBucket> buckets = new TreeMap<>();
+        for (int length = MIN_LENGTH; length <= MAX_LENGTH; length++) {
+            int count = wordCount / lengths + (length - MIN_LENGTH < wordCount % lengths ? 1 : 0);
+            WordBucket.Builder builder = new WordBucket.Builder(length, count);
+            byte[] word = new byte[length];
+            for (int i = 0; i < count; i++) {
+                for (int p = 0; p < length; p++) {
+                    word[p] = (byte) ('A' + random.nextInt(26));
+                }
+                builder.add(word);
+            }
+            buckets.put(length, builder.build());
+        }
+        return buckets;
+    }
+}
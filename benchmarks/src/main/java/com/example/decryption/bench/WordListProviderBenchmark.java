@@ -0,0 +1,103 @@
+package com.example.decryption.bench;
+
+import com.example.decryption.model.Difficulty;
+import com.example.decryption.model.WordListProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dictionary loading and board selection at different dictionary sizes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordListProviderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Logging {
+        @Setup(Level.Trial)
+        public void setUp() {
+            BenchmarkSupport.quietLogging();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Dictionary {
+        @Param({"10000", "100000", "1000000"})
+        public int dictionarySize;
+
+        Path dictionaryFile;
+        WordListProvider provider;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            BenchmarkSupport.quietLogging();
+            dictionaryFile = SyntheticDictionary.create(dictionarySize);
+            provider = WordListProvider.fromBinaryDictionary(dictionaryFile);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Dates {
+        LocalDate next = LocalDate.of(2000, 1, 1);
+    }
+
+    /**
+     * Loads the bundled word lists; independent of the dictionary size
+     */
+    @Benchmark
+    public WordListProvider constructFromBundledWordLists(Logging logging) {
+        return new WordListProvider();
+    }
+
+    @Benchmark
+    public WordListProvider mapBinaryDictionary(Dictionary dictionary) throws IOException {
+        return WordListProvider.fromBinaryDictionary(dictionary.dictionaryFile);
+    }
+
+    @Benchmark
+    public List<String> generateFreshWordList(Dictionary dictionary) {
+        return dictionary.provider.generateFreshWordList();
+    }
+
+    @Benchmark
+    public List<String> generateMediumWordList(Dictionary dictionary) {
+        return dictionary.provider.generateFreshWordList(Difficulty.MEDIUM);
+    }
+
+    /**
+     * Today's board, served from the cache after the first call
+     */
+    @Benchmark
+    public List<String> getCachedDailyWordList(Dictionary dictionary) {
+        return dictionary.provider.getDailyWordList();
+    }
+
+    /**
+     * A different day on every call, so each board is derived rather than taken from the cache
+     */
+    @Benchmark
+    public List<String> generateDailyWordList(Dictionary dictionary, Dates dates) {
+        LocalDate date = dates.next;
+        dates.next = date.plusDays(1);
+        return dictionary.provider.getDailyWordList(date);
+    }
+}
@@ -1,15 +1,22 @@
 package com.example.decryption;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import com.example.decryption.controller.GameController;
+import com.example.decryption.model.GameHistoryLog;
 import com.example.decryption.model.GameService;
 import com.example.decryption.model.ScoreManager;
 import com.example.decryption.model.WordListProvider;
+import com.example.decryption.util.AsyncLogWriter;
+import com.example.decryption.util.GameMetrics;
 import com.example.decryption.util.Logger;
 import com.example.decryption.view.GameView;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+
 /**
  * Main application class for the Decryption word game.
  * This serves as the entry point for the JavaFX application.
@@ -18,18 +25,39 @@ public class Main extends Application {
 
     private static final Logger logger = new Logger("Main");
 
+    private ScoreManager scoreManager;
+    private GameHistoryLog historyLog;
+    private long launchNanos;
+
+    @Override
+    public void init() {
+        launchNanos = System.nanoTime();
+        // Keep log file I/O off the JavaFX thread; disable with -Ddecryption.log.async=false
+        if (Boolean.parseBoolean(System.getProperty("decryption.log.async", "true"))) {
+            int capacity = Integer.getInteger("decryption.log.capacity", 8192);
+            AsyncLogWriter.OverflowPolicy policy = AsyncLogWriter.OverflowPolicy.valueOf(
+                    System.getProperty("decryption.log.overflow", "BLOCK").toUpperCase());
+            Logger.enableAsync(capacity, policy);
+        }
+        GameMetrics.getInstance().registerMBeans();
+    }
+
     @Override
     public void start(Stage primaryStage) {
         try {
             logger.info("Starting Decryption application");
 
-            // Initialize model components
-            WordListProvider wordListProvider = new WordListProvider();
-            ScoreManager scoreManager = new ScoreManager();
+            // Initialize model components; word lists load in the background while the UI is built
+            WordListProvider wordListProvider = WordListProvider.loadAsync();
+            wordListProvider.precomputeDailyWordLists(Integer.getInteger("decryption.daily.precompute", 7));
+            logPhase("word list loading started");
+            scoreManager = new ScoreManager();
+            logPhase("scores loaded");
             GameService gameService = new GameService(wordListProvider, scoreManager);
+            recordHistory(gameService);
 
             // Initialize view
-            GameView gameView = new GameView();
+            GameView gameView = new GameView(Integer.getInteger("decryption.history.limit", GameView.DEFAULT_HISTORY_LIMIT));
 
             // Initialize controller with model and view
             GameController gameController = new GameController(gameService, gameView);
@@ -44,9 +72,13 @@ public class Main extends Application {
             primaryStage.setMinWidth(650);
             primaryStage.setMinHeight(500);
             primaryStage.show();
+            logPhase("stage shown");
 
-            // Initialize the game
-            gameController.initializeGame();
+            // Draw the first board after the stage has been painted; it waits only for its own bucket
+            Platform.runLater(() -> {
+                gameController.initializeGame();
+                logPhase("first board ready");
+            });
 
             logger.info("Application started successfully");
         } catch (Exception e) {
@@ -55,10 +87,37 @@ public class Main extends Application {
         }
     }
 
+    /**
+     * Records every game in the directory given by -Ddecryption.history.dir.
+     * Off by default: the history has no retention limit.
+     */
+    private void recordHistory(GameService gameService) {
+        String directory = System.getProperty("decryption.history.dir");
+        if (directory == null) {
+            return;
+        }
+        try {
+            historyLog = new GameHistoryLog(Paths.get(directory));
+            gameService.addListener(historyLog.newRecorder());
+        } catch (IOException e) {
+            logger.error("Could not open game history, games will not be recorded", e);
+        }
+    }
+
+    private void logPhase(String phase) {
+        logger.info("Startup: {phase} after {millis} ms", phase, (System.nanoTime() - launchNanos) / 1_000_000);
+    }
+
     @Override
     public void stop() {
         logger.info("Application shutting down");
-        // Perform cleanup operations here if needed
+        if (scoreManager != null) {
+            scoreManager.close();
+        }
+        if (historyLog != null) {
+            historyLog.close();
+        }
+        Logger.shutdown();
     }
 
     /**
@@ -0,0 +1,516 @@
+package com.example.decryption.analytics;
+
+import com.example.decryption.util.RollingLogFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Aggregates game results from log files into a {@link LogSummary}.
+ *
+ * <p>Files are memory-mapped in chunks that end at line breaks, and the chunks are parsed in
+ * parallel. Rolled segments compressed with gzip are read whole, as one chunk each.
+ * A game's target and outcome are logged on separate lines, so a game may start in one chunk
+ * and end in the next: every chunk reports the outcomes it saw of games it did not start and
+ * the targets it left open, and the chunks are stitched together in file order.
+ *
+ * <p>The game service tags every line with a game id, as in {@code Game 12 won on attempt 3},
+ * so the interleaved games of a server's sessions are paired by id. Ids restart with the
+ * process; a game whose id is started again was abandoned. Older logs without ids are paired
+ * in sequence, assuming one game at a time: the first outcome after a new game counts, and
+ * later outcome lines of the same game, such as the score manager's, are ignored.
+ *
+ * <p>Key/value entries written with {@code -Ddecryption.log.format=kv} are recognized by their
+ * {@code ts=} prefix. Their message is the unformatted pattern, so the target and attempt
+ * count are read from the {@code target}, {@code attempt} and {@code attempts} fields instead
+ * of being cut out of the text. Both formats may be mixed in one file.
+ */
+public class LogAnalyzer {
+
+    static final int CHUNK_BYTES = 8 << 20;
+
+    private static final String COMPRESSED_SUFFIX = ".gz";
+    private static final byte[] NEW_GAME = bytes("New game started with target word: ");
+    private static final byte[] GAME = bytes("Game ");
+    private static final byte[] GAME_PATTERN = bytes("Game {game} ");
+    private static final byte[] GAME_STARTED = bytes("started with target word: ");
+    private static final byte[][] GAME_WON = {bytes("won on attempt ")};
+    private static final byte[][] GAME_LOST = {bytes("lost after "), bytes("timed out after ")};
+    private static final byte[][] WON = {bytes("Player won on attempt "), bytes("Game won on attempt ")};
+    private static final byte[][] LOST = {bytes("Player lost after "), bytes("Game lost after "), bytes("Time ran out after ")};
+    private static final byte[] STRUCTURED_PREFIX = bytes("ts=");
+    private static final byte[] MSG_FIELD = bytes(" msg=\"");
+    private static final byte[] GAME_FIELD = bytes(" game=");
+    private static final byte[] TARGET_FIELD = bytes(" target=");
+    private static final byte[] ATTEMPT_FIELD = bytes(" attempt=");
+    private static final byte[] ATTEMPTS_FIELD = bytes(" attempts=");
+
+    private final int chunkBytes;
+
+    public LogAnalyzer() {
+        this(CHUNK_BYTES);
+    }
+
+    /**
+     * @param chunkBytes Approximate size of the pieces parsed in parallel
+     */
+    public LogAnalyzer(int chunkBytes) {
+        if (chunkBytes <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkBytes);
+        }
+        this.chunkBytes = chunkBytes;
+    }
+
+    /**
+     * Analyzes files in the given order; rotated logs must be passed oldest first
+     */
+    public LogSummary analyze(List<Path> files) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        long bytes = 0;
+        for (Path file : files) {
+            bytes += split(file, chunks);
+        }
+
+        List<ChunkResult> results;
+        try {
+            results = chunks.parallelStream().map(LogAnalyzer::parseChunk).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // Stitch games that cross chunk boundaries, in file order
+        Map<String, LogSummary.WordStats> byWord = new HashMap<>();
+        String open = null;
+        Map<Long, String> openById = new HashMap<>();
+        for (ChunkResult result : results) {
+            if (open != null && result.leadingAttempts >= 0) {
+                stats(byWord, open).finished(result.leadingWon, result.leadingAttempts);
+                open = null;
+            }
+            if (result.sawNewGame) {
+                open = result.trailingTarget;
+            }
+            result.leadingById.forEach((game, outcome) -> {
+                String target = openById.remove(game);
+                if (target != null) {
+                    stats(byWord, target).finished(outcome.won, outcome.attempts);
+                }
+            });
+            openById.keySet().removeAll(result.startedIds);
+            openById.putAll(result.openById);
+            LogSummary.merge(byWord, result.byWord);
+        }
+        return new LogSummary(byWord, bytes);
+    }
+
+    /**
+     * Analyzes a single file, or every log file of a directory from oldest to newest
+     */
+    public LogSummary analyze(Path source) throws IOException {
+        return analyze(logFiles(source));
+    }
+
+    static List<Path> logFiles(Path source) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return List.of(source);
+        }
+        try (Stream<Path> files = Files.list(source)) {
+            List<Path> logs = files.filter(f -> f.getFileName().toString().endsWith(".log")
+                            || f.getFileName().toString().endsWith(".log.gz"))
+                    .collect(Collectors.toList());
+            // A segment being compressed exists in both forms; the .gz is only renamed into place once complete
+            Set<Path> compressed = logs.stream()
+                    .filter(f -> f.getFileName().toString().endsWith(COMPRESSED_SUFFIX))
+                    .collect(Collectors.toSet());
+            // Rolled segments are named <base>-<date>.<n>.log[.gz] and sort before the active <base>.log
+            return logs.stream()
+                    .filter(f -> !compressed.contains(f.resolveSibling(f.getFileName() + COMPRESSED_SUFFIX)))
+                    .sorted(RollingLogFile.FILE_ORDER)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Cuts a file into chunks that start right after a line break
+     * @return Size of the file
+     */
+    private long split(Path file, List<Chunk> chunks) throws IOException {
+        if (file.getFileName().toString().endsWith(COMPRESSED_SUFFIX)) {
+            chunks.add(new Chunk(file, 0, -1));
+            return Files.size(file);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            ByteBuffer probe = ByteBuffer.allocate(4096);
+            while (start < size) {
+                long end = Math.min(size, start + chunkBytes);
+                while (end < size) {
+                    probe.clear();
+                    int read = channel.read(probe, end);
+                    int newline = -1;
+                    for (int i = 0; i < read && newline < 0; i++) {
+                        if (probe.get(i) == '\n') {
+                            newline = i;
+                        }
+                    }
+                    if (newline >= 0) {
+                        end += newline + 1;
+                        break;
+                    }
+                    end = read <= 0 ? size : end + read;
+                }
+                chunks.add(new Chunk(file, start, Math.min(end, size) - start));
+                start = end;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Reads a chunk into memory. Scanning a heap array lets the JIT drop the per-byte bounds
+     * checks of a mapped buffer.
+     */
+    private static byte[] read(Chunk chunk) throws IOException {
+        if (chunk.length < 0) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(chunk.file), 1 << 16)) {
+                return in.readAllBytes();
+            }
+        }
+        try (FileChannel channel = FileChannel.open(chunk.file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.offset, chunk.length);
+            byte[] data = new byte[buffer.limit()];
+            buffer.get(0, data);
+            return data;
+        }
+    }
+
+    private static ChunkResult parseChunk(Chunk chunk) {
+        byte[] data;
+        try {
+            data = read(chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ChunkResult result = new ChunkResult();
+        String open = null;
+        int limit = data.length;
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && data[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int end = lineEnd > lineStart && data[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+            int message;
+            int fields = -1;
+            if (startsWith(data, lineStart, end, STRUCTURED_PREFIX)) {
+                message = indexOf(data, lineStart, end, MSG_FIELD);
+                if (message >= 0) {
+                    message += MSG_FIELD.length;
+                    fields = closingQuote(data, message, end) + 1;
+                    if (fields == 0) {
+                        message = -1;
+                    }
+                }
+            } else {
+                message = messageStart(data, lineStart, end);
+            }
+
+            long game = -1;
+            if (message >= 0 && startsWith(data, message, end, GAME)) {
+                // "Game 12 won on ..." as text, "Game {game} won ..." with a game=12 field as key/value
+                int id = message + GAME.length;
+                if (fields < 0 && id < end && isDigit(data[id])) {
+                    game = number(data, id, end);
+                    while (id < end && isDigit(data[id])) {
+                        id++;
+                    }
+                    message = id + 1;
+                } else if (fields >= 0 && startsWith(data, message, end, GAME_PATTERN)) {
+                    int value = fieldValue(data, fields, end, GAME_FIELD);
+                    if (value >= 0 && value < end && isDigit(data[value])) {
+                        game = number(data, value, end);
+                        message += GAME_PATTERN.length;
+                    }
+                }
+            }
+
+            if (game >= 0) {
+                parseGameLine(data, message, fields, end, game, result);
+                // A tagged game also ends a legacy game left open before it
+                open = null;
+            } else if (message >= 0) {
+                if (startsWith(data, message, end, NEW_GAME)) {
+                    // A game still open here was abandoned and stays counted as started only
+                    String target = fields < 0
+                            ? new String(data, message + NEW_GAME.length, end - message - NEW_GAME.length, StandardCharsets.UTF_8).trim()
+                            : fieldText(data, fields, end, TARGET_FIELD);
+                    if (target != null) {
+                        open = target;
+                        stats(result.byWord, open).started();
+                        result.sawNewGame = true;
+                    }
+                } else {
+                    int attempts = outcome(data, message, fields, end, WON, ATTEMPT_FIELD);
+                    boolean won = attempts >= 0;
+                    if (!won) {
+                        attempts = outcome(data, message, fields, end, LOST, ATTEMPTS_FIELD);
+                    }
+                    if (attempts >= 0) {
+                        if (open != null) {
+                            result.byWord.get(open).finished(won, attempts);
+                            open = null;
+                        } else if (!result.sawNewGame && result.leadingAttempts < 0) {
+                            result.leadingWon = won;
+                            result.leadingAttempts = attempts;
+                        }
+                    }
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        result.trailingTarget = open;
+        return result;
+    }
+
+    /**
+     * Records a line of the game with the given id
+     * @param message Offset of the text after the id, e.g. "won on attempt 3"
+     */
+    private static void parseGameLine(byte[] data, int message, int fields, int end, long game, ChunkResult result) {
+        if (startsWith(data, message, end, GAME_STARTED)) {
+            String target = fields < 0
+                    ? new String(data, message + GAME_STARTED.length, end - message - GAME_STARTED.length, StandardCharsets.UTF_8).trim()
+                    : fieldText(data, fields, end, TARGET_FIELD);
+            if (target != null) {
+                // A game still open under this id was abandoned and stays counted as started only
+                result.openById.put(game, target);
+                result.startedIds.add(game);
+                stats(result.byWord, target).started();
+                result.sawNewGame = true;
+            }
+            return;
+        }
+        int attempts = outcome(data, message, fields, end, GAME_WON, ATTEMPT_FIELD);
+        boolean won = attempts >= 0;
+        if (!won) {
+            attempts = outcome(data, message, fields, end, GAME_LOST, ATTEMPTS_FIELD);
+        }
+        if (attempts < 0) {
+            return;
+        }
+        String target = result.openById.remove(game);
+        if (target != null) {
+            result.byWord.get(target).finished(won, attempts);
+        } else if (!result.startedIds.contains(game)) {
+            result.leadingById.putIfAbsent(game, new Outcome(won, attempts));
+        }
+    }
+
+    private static LogSummary.WordStats stats(Map<String, LogSummary.WordStats> byWord, String word) {
+        return byWord.computeIfAbsent(word, w -> new LogSummary.WordStats());
+    }
+
+    /**
+     * Skips the "[timestamp] [LEVEL] [Class] " prefix
+     * @return Offset of the message, or -1 if the line is not a log entry
+     */
+    private static int messageStart(byte[] data, int from, int to) {
+        int brackets = 0;
+        for (int i = from; i < to; i++) {
+            if (data[i] == ']' && ++brackets == 3) {
+                return i + 2 <= to ? i + 2 : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param fields Start of the key/value fields, or -1 for a text entry
+     * @return The attempt count of a message starting with one of the prefixes, or -1 if none matches
+     */
+    private static int outcome(byte[] data, int message, int fields, int to, byte[][] prefixes, byte[] field) {
+        for (byte[] prefix : prefixes) {
+            if (startsWith(data, message, to, prefix)) {
+                int value = fields < 0 ? message + prefix.length : fieldValue(data, fields, to, field);
+                return value < 0 ? -1 : digits(data, value, to);
+            }
+        }
+        return -1;
+    }
+
+    private static int digits(byte[] data, int from, int to) {
+        return (int) number(data, from, to);
+    }
+
+    private static long number(byte[] data, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to && isDigit(data[i]); i++) {
+            value = value * 10 + (data[i] - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * @return Offset of the value of a " key=" field, or -1 if the entry has no such field
+     */
+    private static int fieldValue(byte[] data, int from, int to, byte[] field) {
+        int at = indexOf(data, from, to, field);
+        return at < 0 ? -1 : at + field.length;
+    }
+
+    /**
+     * @return The value of a " key=" field without quotes and escapes, or null if the entry has no such field
+     */
+    private static String fieldText(byte[] data, int from, int to, byte[] field) {
+        int value = fieldValue(data, from, to, field);
+        if (value < 0) {
+            return null;
+        }
+        if (value < to && data[value] == '"') {
+            int close = closingQuote(data, value + 1, to);
+            if (close < 0) {
+                return null;
+            }
+            String quoted = new String(data, value + 1, close - value - 1, StandardCharsets.UTF_8);
+            return quoted.indexOf('\\') < 0 ? quoted : quoted.replaceAll("\\\\(.)", "$1");
+        }
+        int end = value;
+        while (end < to && data[end] != ' ') {
+            end++;
+        }
+        return new String(data, value, end - value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Offset of the first quote not escaped by a backslash, or -1
+     */
+    private static int closingQuote(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == '\\') {
+                i++;
+            } else if (data[i] == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] data, int from, int to, byte[] pattern) {
+        for (int i = from; i <= to - pattern.length; i++) {
+            if (startsWith(data, i, to, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] data, int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[from + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Chunk {
+        private final Path file;
+        private final long offset;
+        private final long length; // -1 for a whole compressed file
+
+        Chunk(Path file, long offset, long length) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * What one chunk contributes: the games it contains, the outcomes of games begun in an
+     * earlier chunk, and the games it leaves open for a later one
+     */
+    private static final class ChunkResult {
+        private final Map<String, LogSummary.WordStats> byWord = new HashMap<>();
+        private boolean sawNewGame;
+        private boolean leadingWon;
+        private int leadingAttempts = -1;
+        private String trailingTarget;
+        private final Map<Long, Outcome> leadingById = new HashMap<>();
+        private final Set<Long> startedIds = new HashSet<>();
+        private final Map<Long, String> openById = new HashMap<>();
+    }
+
+    private static final class Outcome {
+        private final boolean won;
+        private final int attempts;
+
+        Outcome(boolean won, int attempts) {
+            this.won = won;
+            this.attempts = attempts;
+        }
+    }
+
+    /**
+     * Prints a summary of log files.
+     * Usage: {@code LogAnalyzer [file or directory...]}; defaults to the {@code logs} directory.
+     */
+    public static void main(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args.length == 0 ? new String[]{"logs"} : args) {
+            files.addAll(logFiles(Paths.get(arg)));
+        }
+
+        long startNanos = System.nanoTime();
+        LogSummary summary = new LogAnalyzer().analyze(files);
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        LogSummary.WordStats total = summary.getTotal();
+        System.out.printf("Read %d files, %.1f MB in %.2f s%n", files.size(), summary.getBytesRead() / 1e6, seconds);
+        System.out.printf("Games started: %d, finished: %d, won: %.1f%%, mean attempts: %.2f%n",
+                total.getGamesStarted(), total.getGamesFinished(), total.getWinPercentage(), total.getMeanAttempts());
+        System.out.println("By length:");
+        for (int length : summary.getLengths()) {
+            LogSummary.WordStats stats = summary.getLengthStats(length);
+            System.out.printf("  %2d letters: %6d games, won %5.1f%%, mean attempts %.2f%n",
+                    length, stats.getGamesFinished(), stats.getWinPercentage(), stats.getMeanAttempts());
+        }
+        System.out.println("Hardest words:");
+        for (String word : summary.getHardestWords(10, 3)) {
+            LogSummary.WordStats stats = summary.getWordStats(word);
+            System.out.printf("  %-16s %4d games, won %5.1f%%, mean attempts %.2f%n",
+                    word, stats.getGamesFinished(), stats.getWinPercentage(), stats.getMeanAttempts());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.decryption.analytics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Game results aggregated from log files, per target word and per word length.
+ * Holds four counters per distinct target word, so it stays small however much log was read.
+ */
+public class LogSummary {
+
+    private final Map<String, WordStats> byWord;
+    private final Map<Integer, WordStats> byLength = new TreeMap<>();
+    private final WordStats total = new WordStats();
+    private final long bytesRead;
+
+    LogSummary(Map<String, WordStats> byWord, long bytesRead) {
+        this.byWord = byWord;
+        this.bytesRead = bytesRead;
+        for (Map.Entry<String, WordStats> entry : byWord.entrySet()) {
+            byLength.computeIfAbsent(entry.getKey().length(), length -> new WordStats()).add(entry.getValue());
+            total.add(entry.getValue());
+        }
+    }
+
+    /**
+     * @return Results of games of one target word, or null if it never was a target
+     */
+    public WordStats getWordStats(String word) {
+        return byWord.get(word);
+    }
+
+    /**
+     * @return Results of games whose target had the given length, or null if there were none
+     */
+    public WordStats getLengthStats(int length) {
+        return byLength.get(length);
+    }
+
+    /**
+     * @return Word lengths that occurred as targets, ascending
+     */
+    public List<Integer> getLengths() {
+        return new ArrayList<>(byLength.keySet());
+    }
+
+    /**
+     * @return Results of all games
+     */
+    public WordStats getTotal() {
+        return total;
+    }
+
+    /**
+     * @return Number of distinct target words
+     */
+    public int getWordCount() {
+        return byWord.size();
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Finds the target words players win least often
+     * @param minGames Words with fewer finished games are left out
+     * @return Up to k words, lowest win rate first, ties broken by more attempts
+     */
+    public List<String> getHardestWords(int k, int minGames) {
+        List<String> words = new ArrayList<>();
+        for (Map.Entry<String, WordStats> entry : byWord.entrySet()) {
+            if (entry.getValue().getGamesFinished() >= minGames) {
+                words.add(entry.getKey());
+            }
+        }
+        words.sort((a, b) -> {
+            WordStats x = byWord.get(a);
+            WordStats y = byWord.get(b);
+            int byWinRate = Double.compare(x.getWinPercentage(), y.getWinPercentage());
+            if (byWinRate != 0) {
+                return byWinRate;
+            }
+            int byAttempts = Double.compare(y.getMeanAttempts(), x.getMeanAttempts());
+            return byAttempts != 0 ? byAttempts : a.compareTo(b);
+        });
+        return Collections.unmodifiableList(words.subList(0, Math.min(k, words.size())));
+    }
+
+    /**
+     * Merges the per-word counters of chunks
+     */
+    static Map<String, WordStats> merge(Map<String, WordStats> into, Map<String, WordStats> from) {
+        if (into == null) {
+            return new HashMap<>(from);
+        }
+        from.forEach((word, stats) -> into.merge(word, stats, (a, b) -> {
+            a.add(b);
+            return a;
+        }));
+        return into;
+    }
+
+    /**
+     * Counters of a group of games
+     */
+    public static final class WordStats {
+        private long gamesStarted;
+        private long gamesFinished;
+        private long gamesWon;
+        private long attemptSum;
+
+        void started() {
+            gamesStarted++;
+        }
+
+        void finished(boolean won, int attempts) {
+            gamesFinished++;
+            attemptSum += attempts;
+            if (won) {
+                gamesWon++;
+            }
+        }
+
+        void add(WordStats other) {
+            gamesStarted += other.gamesStarted;
+            gamesFinished += other.gamesFinished;
+            gamesWon += other.gamesWon;
+            attemptSum += other.attemptSum;
+        }
+
+        public long getGamesStarted() {
+            return gamesStarted;
+        }
+
+        /**
+         * @return Games that were won or lost; abandoned games are only counted as started
+         */
+        public long getGamesFinished() {
+            return gamesFinished;
+        }
+
+        public long getGamesWon() {
+            return gamesWon;
+        }
+
+        /**
+         * @return Win rate of finished games as a double between 0 and 100
+         */
+        public double getWinPercentage() {
+            return gamesFinished == 0 ? 0 : (double) gamesWon / gamesFinished * 100;
+        }
+
+        /**
+         * @return Mean number of attempts of finished games
+         */
+        public double getMeanAttempts() {
+            return gamesFinished == 0 ? 0 : (double) attemptSum / gamesFinished;
+        }
+    }
+}
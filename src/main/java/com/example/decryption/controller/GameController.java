@@ -1,30 +1,33 @@
 package com.example.decryption.controller;
 
 import com.example.decryption.model.GameService;
+import com.example.decryption.model.SolverService;
+import com.example.decryption.model.entity.GameEvent;
+import com.example.decryption.model.entity.GameEventListener;
 import com.example.decryption.model.entity.GameState;
 import com.example.decryption.util.Logger;
 import com.example.decryption.view.GameView;
-
-import java.util.Observable;
-import java.util.Observer;
+import com.example.decryption.view.RenderCoalescer;
 
 /**
  * Controller class for handling user interactions and connecting model with view.
- * Implements an Observer pattern to listen for model changes.
+ * Listens for game events and redraws the view once per burst of changes.
  */
-public class GameController implements Observer {
+public class GameController implements GameEventListener {
 
     private static final Logger logger = new Logger("GameController");
 
     private final GameService gameService;
     private final GameView gameView;
+    private final RenderCoalescer renderCoalescer;
 
     public GameController(GameService gameService, GameView gameView) {
         this.gameService = gameService;
         this.gameView = gameView;
+        this.renderCoalescer = new RenderCoalescer(this::render);
 
-        // Register as observer of game state
-        gameService.getGameState().addObserver(this);
+        // Listen on the service so events keep arriving after a new game replaces the state
+        gameService.addListener(this);
 
         // Set up event handlers in the view
         setupEventHandlers();
@@ -34,12 +37,8 @@ public class GameController implements Observer {
      * Initialize the game
      */
     public void initializeGame() {
-        // Start a new game
+        // Start a new game; the resulting event renders the board
         gameService.startNewGame();
-
-        // Explicitly update the view to set the button labels
-        GameState state = gameService.getGameState();
-        gameView.updateView(state);
     }
 
     /**
@@ -48,7 +47,7 @@ public class GameController implements Observer {
     private void setupEventHandlers() {
         // Handle word selection from the list
         gameView.setOnWordSelectionHandler(word -> {
-            logger.info("Player selected word: " + word);
+            logger.info("Player selected word: {word}", word);
 
             // Process the guess
             GameService.GuessResult result = gameService.makeGuess(word);
@@ -61,32 +60,17 @@ public class GameController implements Observer {
             } else if (gameService.getGameState().isGameOver()) {
                 gameView.showGameLostMessage(gameService.getGameState().getTargetWord());
             }
-
-            // Update the game view and stats AFTER processing the guess
-            GameState state = gameService.getGameState();
-            gameView.updateView(state);
-
-            // Update stats with latest information including the current guess
-            gameView.updateStats(
-                    state.getCurrentScore(),
-                    state.getAttemptedWords(),
-                    state.getFeedbackScores()
-            );
         });
 
         // Handle new game button press
         gameView.setOnNewGameHandler(() -> {
             logger.info("New game requested");
             initializeGame();
-
-            // You might want to add this to show empty stats panel after new game
-            gameView.updateStats(
-                    gameService.getGameState().getCurrentScore(),
-                    gameService.getGameState().getAttemptedWords(),
-                    gameService.getGameState().getFeedbackScores()
-            );
         });
 
+        // Handle hint button press
+        gameView.setOnHintHandler(this::requestHint);
+
         // For the stats button, we can keep the popup functionality as a backup
         gameView.setOnShowStatsHandler(() -> {
             logger.info("Statistics requested");
@@ -99,17 +83,38 @@ public class GameController implements Observer {
     }
 
     /**
-     * Called when observed game state changes
+     * Shows the solver's suggestion for the current game
      */
-    @Override
-    public void update(Observable o, Object arg) {
-        if (o instanceof GameState) {
-            GameState state = (GameState) o;
+    public void requestHint() {
+        if (gameService.getGameState().isGameOver()) {
+            return;
+        }
 
-            // Update the view with the new state
-            gameView.updateView(state);
+        SolverService.Hint hint = gameService.getHint();
+        logger.info("Hint requested, {candidates} candidates remain", hint.getRemainingCandidates().size());
+        gameView.showHint(hint.getSuggestedWord(), hint.getRemainingCandidates().size());
+    }
 
-            logger.debug("Updated view with new game state");
-        }
+    /**
+     * Called when the game changes. May run on any thread; rendering is deferred to the FX thread.
+     */
+    @Override
+    public void onGameEvent(GameEvent event) {
+        logger.debug("Game event: {type}", event.getType());
+        renderCoalescer.requestRender();
+    }
+
+    /**
+     * Draws the board and the stats panel from the latest state
+     */
+    private void render() {
+        GameState state = gameService.getGameState();
+        gameView.updateView(state);
+        gameView.updateStats(
+                state.getCurrentScore(),
+                state.getAttemptedWords(),
+                state.getFeedbackScores()
+        );
+        logger.debug("Updated view with new game state");
     }
 }
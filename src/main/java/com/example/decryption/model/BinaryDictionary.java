@@ -0,0 +1,148 @@
+package com.example.decryption.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes the precompiled binary dictionary format.
+ *
+ * <pre>
+ * int  magic ("DDIC")
+ * int  version
+ * int  minimum word length
+ * int  maximum word length
+ * for each length from minimum to maximum:
+ *     long offset of the bucket from the start of the file
+ *     int  number of words in the bucket
+ * fixed-width single-byte records, one bucket after another
+ * </pre>
+ *
+ * Opening a dictionary maps the file read-only; buckets are slices of the mapping and
+ * nothing is parsed or copied onto the heap.
+ */
+public final class BinaryDictionary {
+
+    private static final int MAGIC = 0x44444943; // "DDIC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int TABLE_ENTRY_SIZE = 12;
+
+    private BinaryDictionary() {
+    }
+
+    /**
+     * Maps a dictionary file
+     * @return Non-empty buckets keyed by word length
+     */
+    public static Map<Integer, WordBucket> open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Dictionary larger than 2 GB: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < HEADER_SIZE || mapped.getInt(0) != MAGIC) {
+                throw new IOException("Not a binary dictionary: " + file);
+            }
+            if (mapped.getInt(4) != VERSION) {
+                throw new IOException("Unsupported dictionary version " + mapped.getInt(4) + ": " + file);
+            }
+
+            int minLength = mapped.getInt(8);
+            int maxLength = mapped.getInt(12);
+            Map<Integer, WordBucket> buckets = new TreeMap<>();
+            for (int length = minLength; length <= maxLength; length++) {
+                int entry = HEADER_SIZE + (length - minLength) * TABLE_ENTRY_SIZE;
+                long offset = mapped.getLong(entry);
+                int count = mapped.getInt(entry + 8);
+                if (count == 0) {
+                    continue;
+                }
+                if (offset + (long) count * length > mapped.limit()) {
+                    throw new IOException("Bucket " + length + " extends past the end of " + file);
+                }
+                ByteBuffer slice = mapped.duplicate();
+                slice.position((int) offset).limit((int) (offset + (long) count * length));
+                buckets.put(length, WordBucket.wrap(length, count, slice));
+            }
+            return buckets;
+        }
+    }
+
+    /**
+     * Writes buckets to a dictionary file
+     */
+    public static void write(Map<Integer, WordBucket> buckets, Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            write(buckets, out);
+        }
+    }
+
+    /**
+     * Writes buckets in dictionary format to a stream
+     */
+    public static void write(Map<Integer, WordBucket> buckets, OutputStream stream) throws IOException {
+        TreeMap<Integer, WordBucket> sorted = new TreeMap<>(buckets);
+        sorted.values().removeIf(WordBucket::isEmpty);
+        int minLength = sorted.isEmpty() ? 1 : sorted.firstKey();
+        int maxLength = sorted.isEmpty() ? 0 : sorted.lastKey();
+
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(minLength);
+        out.writeInt(maxLength);
+
+        long offset = HEADER_SIZE + (long) Math.max(0, maxLength - minLength + 1) * TABLE_ENTRY_SIZE;
+        for (int length = minLength; length <= maxLength; length++) {
+            WordBucket bucket = sorted.get(length);
+            int count = bucket != null ? bucket.size() : 0;
+            out.writeLong(offset);
+            out.writeInt(count);
+            offset += (long) count * length;
+        }
+
+        byte[] chunk = new byte[64 * 1024];
+        for (WordBucket bucket : sorted.values()) {
+            int perChunk = Math.max(1, chunk.length / bucket.getWordLength());
+            for (int start = 0; start < bucket.size(); start += perChunk) {
+                int count = Math.min(perChunk, bucket.size() - start);
+                if (count * bucket.getWordLength() > chunk.length) {
+                    chunk = new byte[count * bucket.getWordLength()];
+                }
+                bucket.copyRecords(start, count, chunk, 0);
+                out.write(chunk, 0, count * bucket.getWordLength());
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Compiles word lists into a binary dictionary.
+     * Usage: {@code BinaryDictionary <output file> [word list directory]}.
+     * Without a directory the bundled word lists are compiled.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: BinaryDictionary <output file> [word list directory]");
+            System.exit(1);
+        }
+
+        WordListProvider provider = args.length > 1
+                ? WordListProvider.fromDirectory(Paths.get(args[1]))
+                : new WordListProvider();
+        Path output = Paths.get(args[0]);
+        write(provider.getBuckets(), output);
+        System.out.println("Wrote " + provider.getWordCount() + " words to " + output);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.decryption.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Precomputed pairwise feedback table for one board.
+ * Entry (i, j) is the feedback word i would receive if word j were the target, so every
+ * consistency check the solver makes is a single array read.
+ */
+public final class BoardAnalysis {
+
+    static final int PARALLEL_THRESHOLD = 512;
+    private static final int ROWS_PER_TASK = 64;
+
+    private final List<String> words;
+    private final int[] matrix;
+    private final Map<String, Integer> indexByWord;
+
+    private BoardAnalysis(List<String> words, int[] matrix) {
+        this.words = List.copyOf(words);
+        this.matrix = matrix;
+        this.indexByWord = new HashMap<>(words.size() * 2);
+        for (int i = words.size() - 1; i >= 0; i--) {
+            indexByWord.put(words.get(i), i);
+        }
+    }
+
+    /**
+     * Builds the table for a board. Boards above {@value #PARALLEL_THRESHOLD} words are scored on the common fork/join pool.
+     */
+    public static BoardAnalysis of(List<String> words) {
+        int n = words.size();
+        int[] matrix = new int[n * n];
+
+        byte[] packed = packIfUniform(words);
+        if (packed == null) {
+            // Mixed lengths, e.g. a board padded with placeholders
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    matrix[i * n + j] = FeedbackCalculator.matchCount(words.get(i), words.get(j));
+                }
+            }
+        } else {
+            int length = n == 0 ? 0 : words.get(0).length();
+            if (n > PARALLEL_THRESHOLD) {
+                ForkJoinPool.commonPool().invoke(new MatrixTask(packed, n, length, 0, n, matrix));
+            } else {
+                FeedbackCalculator.matchMatrixRows(packed, n, length, 0, n, matrix);
+            }
+        }
+        return new BoardAnalysis(words, matrix);
+    }
+
+    private static byte[] packIfUniform(List<String> words) {
+        if (words.isEmpty()) {
+            return new byte[0];
+        }
+        int length = words.get(0).length();
+        for (String word : words) {
+            if (word.length() != length || WordBucket.encode(word) == null) {
+                return null;
+            }
+        }
+        return FeedbackCalculator.pack(words);
+    }
+
+    public List<String> getWords() {
+        return words;
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * @return The feedback guessing word {@code guess} would receive if {@code target} were the answer
+     */
+    public int feedback(int guess, int target) {
+        return matrix[guess * words.size() + target];
+    }
+
+    /**
+     * @return The board index of a word, or -1
+     */
+    public int indexOf(String word) {
+        Integer index = indexByWord.get(word);
+        return index != null ? index : -1;
+    }
+
+    @SuppressWarnings("serial") // Never serialized; fork/join tasks only
+    private static final class MatrixTask extends RecursiveAction {
+        private final byte[] packed;
+        private final int count;
+        private final int length;
+        private final int fromRow;
+        private final int toRow;
+        private final int[] matrix;
+
+        MatrixTask(byte[] packed, int count, int length, int fromRow, int toRow, int[] matrix) {
+            this.packed = packed;
+            this.count = count;
+            this.length = length;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.matrix = matrix;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow <= ROWS_PER_TASK) {
+                FeedbackCalculator.matchMatrixRows(packed, count, length, fromRow, toRow, matrix);
+                return;
+            }
+            int mid = (fromRow + toRow) >>> 1;
+            invokeAll(new MatrixTask(packed, count, length, fromRow, mid, matrix),
+                    new MatrixTask(packed, count, length, mid, toRow, matrix));
+        }
+    }
+}
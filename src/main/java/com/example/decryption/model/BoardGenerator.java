@@ -0,0 +1,178 @@
+package com.example.decryption.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Builds boards whose words are similar to each other by a target {@link Difficulty}.
+ *
+ * <p>A random seed word is picked and its neighbours are looked up through the bucket's
+ * {@link SimilarityIndex}; only words that share letters with the seed are ever visited.
+ * Neighbours in the difficulty band are then added greedily while every pair on the board
+ * stays in the band. Indexes are built once per bucket and reused.
+ */
+public class BoardGenerator {
+
+    private static final int SEED_ATTEMPTS = 16;
+    private static final int POOL_LIMIT = 512;
+    private static final int RANDOM_PROBES = 256;
+
+    private final Map<Integer, SimilarityIndex> indexes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Generates a board from one bucket
+     * @return The board in random order, or null if no board in the difficulty band was found
+     */
+    public List<String> generate(WordBucket bucket, Difficulty difficulty, int boardSize, RandomGenerator random) {
+        if (bucket.size() < boardSize) {
+            return null;
+        }
+
+        SimilarityIndex index = indexFor(bucket);
+        int length = bucket.getWordLength();
+        int minMatches = difficulty.minMatches(length);
+        int maxMatches = difficulty.maxMatches(length);
+        Scratch work = scratch.get();
+        work.ensureCapacity(bucket.size());
+        int[] board = new int[boardSize];
+
+        for (int attempt = 0; attempt < SEED_ATTEMPTS; attempt++) {
+            int seed = random.nextInt(bucket.size());
+            int poolSize = collectNeighbours(index, seed, minMatches, maxMatches, work, random);
+
+            board[0] = seed;
+            int filled = 1;
+            for (int i = 0; i < poolSize && filled < boardSize; i++) {
+                int candidate = work.pool[i];
+                if (fitsBoard(bucket, board, filled, candidate, minMatches, maxMatches)) {
+                    board[filled++] = candidate;
+                }
+            }
+
+            if (filled == boardSize) {
+                List<String> words = new ArrayList<>(boardSize);
+                for (int i = boardSize - 1; i >= 0; i--) {
+                    int swap = random.nextInt(i + 1);
+                    int tmp = board[i];
+                    board[i] = board[swap];
+                    board[swap] = tmp;
+                }
+                for (int w : board) {
+                    words.add(bucket.get(w));
+                }
+                return words;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the index of a bucket, rebuilding it if the bucket for that length has been replaced
+     */
+    public SimilarityIndex indexFor(WordBucket bucket) {
+        SimilarityIndex index = indexes.get(bucket.getWordLength());
+        if (index == null || index.getBucket() != bucket) {
+            index = SimilarityIndex.build(bucket);
+            indexes.put(bucket.getWordLength(), index);
+        }
+        return index;
+    }
+
+    /**
+     * Fills the scratch pool with words whose match count against the seed is in the band,
+     * shuffled so the greedy pass does not favour any part of the bucket.
+     */
+    private int collectNeighbours(SimilarityIndex index, int seed, int minMatches, int maxMatches,
+                                  Scratch work, RandomGenerator random) {
+        int touched = index.accumulateMatches(seed, work.counts, work.touched);
+        int poolSize = 0;
+        int seen = 0;
+
+        for (int i = 0; i < touched; i++) {
+            int w = work.touched[i];
+            int matches = work.counts[w];
+            if (w != seed && matches >= minMatches && matches <= maxMatches) {
+                poolSize = offer(work.pool, poolSize, seen++, w, random);
+            }
+        }
+
+        if (minMatches == 0) {
+            // Words that share nothing with the seed never show up in its posting lists
+            WordBucket bucket = index.getBucket();
+            for (int probe = 0; probe < RANDOM_PROBES; probe++) {
+                int w = random.nextInt(bucket.size());
+                if (w != seed && work.counts[w] == 0) {
+                    poolSize = offer(work.pool, poolSize, seen++, w, random);
+                }
+            }
+        }
+
+        for (int i = 0; i < touched; i++) {
+            work.counts[work.touched[i]] = 0;
+        }
+
+        for (int i = poolSize - 1; i > 0; i--) {
+            int swap = random.nextInt(i + 1);
+            int tmp = work.pool[i];
+            work.pool[i] = work.pool[swap];
+            work.pool[swap] = tmp;
+        }
+        return poolSize;
+    }
+
+    /**
+     * Reservoir sampling, so the pool stays bounded for very dense buckets
+     */
+    private static int offer(int[] pool, int poolSize, int seen, int word, RandomGenerator random) {
+        if (poolSize < pool.length) {
+            pool[poolSize] = word;
+            return poolSize + 1;
+        }
+        int slot = random.nextInt(seen + 1);
+        if (slot < pool.length) {
+            pool[slot] = word;
+        }
+        return poolSize;
+    }
+
+    private static boolean fitsBoard(WordBucket bucket, int[] board, int filled, int candidate,
+                                     int minMatches, int maxMatches) {
+        for (int i = 0; i < filled; i++) {
+            if (board[i] == candidate) {
+                return false;
+            }
+            int matches = matchCount(bucket, board[i], candidate);
+            if (matches < minMatches || matches > maxMatches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int matchCount(WordBucket bucket, int a, int b) {
+        int matches = 0;
+        for (int p = 0; p < bucket.getWordLength(); p++) {
+            if (bucket.byteAt(a, p) == bucket.byteAt(b, p)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static final class Scratch {
+        private int[] counts = new int[0];
+        private int[] touched = new int[0];
+        private final int[] pool = new int[POOL_LIMIT];
+
+        void ensureCapacity(int size) {
+            if (counts.length < size) {
+                counts = new int[size];
+                touched = new int[size];
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.decryption.model;
+
+/**
+ * Target difficulty of a generated board, expressed as the band every mutual positional
+ * match count on the board must fall into, relative to the word length.
+ * Words that share more letters in place are harder to tell apart.
+ */
+public enum Difficulty {
+    EASY(0.0, 0.2),
+    MEDIUM(0.2, 0.45),
+    HARD(0.35, 0.75);
+
+    private final double minMatchFraction;
+    private final double maxMatchFraction;
+
+    Difficulty(double minMatchFraction, double maxMatchFraction) {
+        this.minMatchFraction = minMatchFraction;
+        this.maxMatchFraction = maxMatchFraction;
+    }
+
+    /**
+     * @return Lowest allowed match count between two board words of the given length
+     */
+    public int minMatches(int wordLength) {
+        return Math.min((int) Math.ceil(minMatchFraction * wordLength), wordLength - 1);
+    }
+
+    /**
+     * @return Highest allowed match count between two board words of the given length
+     */
+    public int maxMatches(int wordLength) {
+        int max = Math.min((int) Math.floor(maxMatchFraction * wordLength), wordLength - 1);
+        return Math.max(max, minMatches(wordLength));
+    }
+}
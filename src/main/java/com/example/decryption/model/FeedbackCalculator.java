@@ -0,0 +1,171 @@
+package com.example.decryption.model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.List;
+
+/**
+ * Computes positional match counts, the feedback a guess receives, in bulk.
+ * Words are packed back to back as single-byte records of one length, as in {@link WordBucket}.
+ *
+ * <p>Comparisons run eight characters at a time: two 8-byte lanes are XORed and the zero
+ * bytes of the result, which are the matching positions, are counted with one bit count.
+ */
+public final class FeedbackCalculator {
+
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final int CHUNK_WORDS = 4096;
+
+    private FeedbackCalculator() {
+    }
+
+    /**
+     * Counts the positions where two words have the same character
+     */
+    public static int matchCount(String a, String b) {
+        int count = 0;
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(i) == b.charAt(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the positions where two packed words have the same byte
+     */
+    public static int matchCount(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        int count = 0;
+        int i = 0;
+        for (; i + Long.BYTES <= length; i += Long.BYTES) {
+            long x = (long) LONG_VIEW.get(a, aOffset + i) ^ (long) LONG_VIEW.get(b, bOffset + i);
+            count += zeroBytes(x);
+        }
+        for (; i < length; i++) {
+            if (a[aOffset + i] == b[bOffset + i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Scores one word against many candidates
+     * @param word Array holding the word
+     * @param wordOffset Offset of the word
+     * @param candidates Packed candidate words
+     * @param count Number of candidates
+     * @param length Length of every word
+     * @param out Receives one match count per candidate
+     */
+    public static void matchCounts(byte[] word, int wordOffset, byte[] candidates, int count, int length, int[] out) {
+        matchCounts(word, wordOffset, candidates, 0, count, length, out, 0);
+    }
+
+    /**
+     * Scores one word against every word of a bucket
+     * @param out Receives one match count per bucket word
+     */
+    public static void matchCounts(byte[] word, WordBucket bucket, int[] out) {
+        int length = bucket.getWordLength();
+        byte[] chunk = new byte[Math.min(bucket.size(), CHUNK_WORDS) * length];
+        for (int start = 0; start < bucket.size(); start += CHUNK_WORDS) {
+            int count = Math.min(CHUNK_WORDS, bucket.size() - start);
+            bucket.copyRecords(start, count, chunk, 0);
+            matchCounts(word, 0, chunk, 0, count, length, out, start);
+        }
+    }
+
+    private static void matchCounts(byte[] word, int wordOffset, byte[] candidates, int candidateOffset,
+                                    int count, int length, int[] out, int outOffset) {
+        if (length <= 2 * Long.BYTES) {
+            matchCountsShort(word, wordOffset, candidates, candidateOffset, count, length, out, outOffset);
+            return;
+        }
+        for (int c = 0; c < count; c++) {
+            out[outOffset + c] = matchCount(word, wordOffset, candidates, candidateOffset + c * length, length);
+        }
+    }
+
+    /**
+     * Words of up to 16 characters fit in two lanes, so the guessed word is loaded once
+     * and each candidate costs at most two XORs and two bit counts.
+     */
+    private static void matchCountsShort(byte[] word, int wordOffset, byte[] candidates, int candidateOffset,
+                                         int count, int length, int[] out, int outOffset) {
+        int full = length / Long.BYTES;
+        long w0 = full > 0 ? (long) LONG_VIEW.get(word, wordOffset) : 0;
+        long w1 = full > 1 ? (long) LONG_VIEW.get(word, wordOffset + Long.BYTES) : 0;
+        int tailStart = full * Long.BYTES;
+
+        for (int c = 0; c < count; c++) {
+            int base = candidateOffset + c * length;
+            int matches = 0;
+            if (full > 0) {
+                matches += zeroBytes(w0 ^ (long) LONG_VIEW.get(candidates, base));
+            }
+            if (full > 1) {
+                matches += zeroBytes(w1 ^ (long) LONG_VIEW.get(candidates, base + Long.BYTES));
+            }
+            for (int i = tailStart; i < length; i++) {
+                if (word[wordOffset + i] == candidates[base + i]) {
+                    matches++;
+                }
+            }
+            out[outOffset + c] = matches;
+        }
+    }
+
+    /**
+     * Scores every packed word against every other one
+     * @return Row-major count x count matrix; the diagonal holds the word length
+     */
+    public static int[] matchMatrix(byte[] packed, int count, int length) {
+        int[] matrix = new int[count * count];
+        matchMatrixRows(packed, count, length, 0, count, matrix);
+        return matrix;
+    }
+
+    /**
+     * Fills rows [fromRow, toRow) of the all-pairs matrix, so callers can split the work
+     * @param matrix Row-major count x count matrix
+     */
+    public static void matchMatrixRows(byte[] packed, int count, int length, int fromRow, int toRow, int[] matrix) {
+        for (int row = fromRow; row < toRow; row++) {
+            matchCounts(packed, row * length, packed, 0, count, length, matrix, row * count);
+        }
+    }
+
+    /**
+     * Packs words of equal length into one array
+     * @throws IllegalArgumentException If the words differ in length or cannot be encoded
+     */
+    public static byte[] pack(List<String> words) {
+        if (words.isEmpty()) {
+            return new byte[0];
+        }
+        int length = words.get(0).length();
+        byte[] packed = new byte[words.size() * length];
+        for (int i = 0; i < words.size(); i++) {
+            byte[] word = WordBucket.encode(words.get(i));
+            if (word == null || word.length != length) {
+                throw new IllegalArgumentException("Cannot pack word: " + words.get(i));
+            }
+            System.arraycopy(word, 0, packed, i * length, length);
+        }
+        return packed;
+    }
+
+    /**
+     * Counts the zero bytes of a 64-bit lane without branches
+     */
+    private static int zeroBytes(long x) {
+        long y = (x & LOW_SEVEN_BITS) + LOW_SEVEN_BITS;
+        y = ~(y | x | LOW_SEVEN_BITS);
+        return Long.bitCount(y);
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.decryption.model;
+
+import com.example.decryption.model.entity.GameEvent;
+import com.example.decryption.model.entity.GameEventListener;
+import com.example.decryption.model.entity.GameState;
+import com.example.decryption.util.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of every game: the board, the target, each guess with its feedback,
+ * and the outcome.
+ *
+ * <p>Games are written as small events tagged with a game id, so games of many sessions can
+ * interleave. Events are packed into blocks of up to {@value #BLOCK_SIZE} bytes, and each block
+ * is written with its length and CRC32, so a crash can only lose the unwritten tail and a torn
+ * last block is detected on read. The log is split into segment files named after the first
+ * game id they may contain; a segment is closed once it exceeds the configured size, and every
+ * open starts a new one. Existing segments are never overwritten: if the name is taken, the
+ * next game id is skipped. Blocks are handed to the file system when full, periodically, and on
+ * {@link #flush()}; {@link #close()} forces them to disk.
+ *
+ * <p>Event layout inside a block, with varints for ids and numbers:
+ * <pre>
+ * NEW_GAME  type, game id, timestamp millis, word count, (length, UTF-8 bytes) per word, target index
+ * GUESS     type, game id, word index, feedback
+ * END       type, game id, outcome, attempts, score
+ * </pre>
+ * {@link GameReplayer} reads the log back. History ids are unique across runs, unlike the ids
+ * {@link GameService} tags its log lines with; a recorder logs both when a game begins.
+ */
+public class GameHistoryLog implements AutoCloseable {
+
+    /**
+     * How a game ended
+     */
+    public enum Outcome {
+        LOST, WON, TIMED_OUT
+    }
+
+    private static final Logger logger = new Logger("GameHistoryLog");
+    static final int MAGIC = 0x47485354; // "GHST"
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 8;
+    static final int BLOCK_HEADER_SIZE = 8;
+    static final int BLOCK_SIZE = 64 * 1024;
+    static final byte NEW_GAME = 1;
+    static final byte GUESS = 2;
+    static final byte END = 3;
+    static final String SEGMENT_PREFIX = "history-";
+    static final String SEGMENT_SUFFIX = ".log";
+    private static final long DEFAULT_SEGMENT_BYTES = 64L << 20;
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService flusher;
+
+    private FileChannel segment;
+    private long segmentSize;
+    private long nextGameId;
+    private long gamesStarted;
+    private boolean closed;
+
+    /**
+     * Opens a log in the given directory with 64 MB segments, flushed every 200 ms
+     */
+    public GameHistoryLog(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES, 200);
+    }
+
+    /**
+     * @param segmentBytes Size after which a new segment file is started
+     * @param flushIntervalMillis Maximum time a finished event waits in memory; 0 writes only full blocks and on flush
+     */
+    public GameHistoryLog(Path directory, long segmentBytes, long flushIntervalMillis) throws IOException {
+        if (segmentBytes < BLOCK_SIZE || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between one block and 2 GB: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        // Continue numbering after the last game of the previous run
+        List<Path> segments = segments(directory);
+        if (!segments.isEmpty()) {
+            Path last = segments.get(segments.size() - 1);
+            nextGameId = Math.max(firstGameId(last), GameReplayer.maxGameId(last) + 1);
+            // openSegment moves past the last segment's name if no game started in it
+        }
+        openSegment();
+
+        if (flushIntervalMillis > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "game-history-flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Records the start of a game
+     * @return Id of the game, used for its later events
+     */
+    public synchronized long beginGame(List<String> wordOptions, String targetWord) {
+        int targetIndex = wordOptions.indexOf(targetWord);
+        if (targetIndex < 0 || wordOptions.size() > 255) {
+            throw new IllegalArgumentException("Target must be one of at most 255 word options");
+        }
+        byte[][] words = new byte[wordOptions.size()][];
+        int size = 24 + words.length;
+        for (int i = 0; i < words.length; i++) {
+            words[i] = wordOptions.get(i).getBytes(StandardCharsets.UTF_8);
+            if (words[i].length > 255) {
+                throw new IllegalArgumentException("Word too long for the history log: " + wordOptions.get(i));
+            }
+            size += words[i].length;
+        }
+
+        long gameId = nextGameId++;
+        reserve(size);
+        block.put(NEW_GAME);
+        putVarLong(gameId);
+        putVarLong(System.currentTimeMillis());
+        block.put((byte) words.length);
+        for (byte[] word : words) {
+            block.put((byte) word.length);
+            block.put(word);
+        }
+        block.put((byte) targetIndex);
+        gamesStarted++;
+        return gameId;
+    }
+
+    /**
+     * Records a guess
+     * @param wordIndex Index of the guessed word in the game's word options
+     */
+    public synchronized void recordGuess(long gameId, int wordIndex, int feedback) {
+        reserve(13);
+        block.put(GUESS);
+        putVarLong(gameId);
+        block.put((byte) wordIndex);
+        block.put((byte) feedback);
+    }
+
+    /**
+     * Records how a game ended
+     */
+    public synchronized void endGame(long gameId, Outcome outcome, int attempts, int score) {
+        reserve(23);
+        block.put(END);
+        putVarLong(gameId);
+        block.put((byte) outcome.ordinal());
+        block.put((byte) attempts);
+        putVarLong(score);
+    }
+
+    /**
+     * Creates a listener that records the games of one {@link GameService}.
+     * Every service needs its own recorder, since the recorder tracks the id of the current game.
+     */
+    public GameEventListener newRecorder() {
+        return new Recorder();
+    }
+
+    /**
+     * @return Number of games started since the log was opened
+     */
+    public synchronized long getGamesStarted() {
+        return gamesStarted;
+    }
+
+    /**
+     * Writes buffered events to the current segment
+     */
+    public synchronized void flush() {
+        if (closed || block.position() == 0) {
+            return;
+        }
+        try {
+            writeBlock();
+        } catch (IOException e) {
+            logger.error("Error writing game history", e);
+        }
+    }
+
+    /**
+     * Makes sure the next event of at most the given size fits into the block
+     */
+    private void reserve(int size) {
+        if (closed) {
+            throw new IllegalStateException("Game history log is closed");
+        }
+        if (size > BLOCK_SIZE) {
+            throw new IllegalArgumentException("Event too large for the history log: " + size + " bytes");
+        }
+        if (block.remaining() >= size) {
+            return;
+        }
+        try {
+            writeBlock();
+        } catch (IOException e) {
+            // Keep playing; the buffered events are lost
+            block.clear();
+            logger.error("Error writing game history", e);
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        block.flip();
+        crc.reset();
+        crc.update(block.array(), 0, block.limit());
+        blockHeader.clear();
+        blockHeader.putInt(block.limit()).putInt((int) crc.getValue()).flip();
+
+        if (segmentSize + BLOCK_HEADER_SIZE + block.limit() > segmentBytes && segmentSize > SEGMENT_HEADER_SIZE) {
+            segment.close();
+            openSegment();
+        }
+        ByteBuffer[] buffers = {blockHeader, block};
+        long written = 0;
+        while (written < BLOCK_HEADER_SIZE + block.limit()) {
+            written += segment.write(buffers);
+        }
+        segmentSize += written;
+        block.clear();
+    }
+
+    private void openSegment() throws IOException {
+        while (true) {
+            Path path = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, nextGameId, SEGMENT_SUFFIX));
+            try {
+                segment = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                break;
+            } catch (FileAlreadyExistsException e) {
+                // No game started since that segment was opened; skip an id rather than overwrite it
+                nextGameId++;
+            }
+        }
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        segment.write(header);
+        segmentSize = SEGMENT_HEADER_SIZE;
+    }
+
+    private void putVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            block.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        block.put((byte) value);
+    }
+
+    /**
+     * @return Segment files of a log directory, oldest first
+     */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @return The lowest game id that may have started in a segment
+     */
+    static long firstGameId(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Writes the remaining events and forces them to disk
+     */
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            flush();
+            closed = true;
+            try {
+                segment.force(true);
+                segment.close();
+            } catch (IOException e) {
+                logger.error("Error closing game history", e);
+            }
+        }
+    }
+
+    /**
+     * Translates the events of one service into log entries
+     */
+    private final class Recorder implements GameEventListener {
+        private long gameId = -1;
+
+        @Override
+        public void onGameEvent(GameEvent event) {
+            GameState state = event.getState();
+            if (gameId < 0 && event.getType() != GameEvent.Type.NEW_BOARD) {
+                // Registered in the middle of a game
+                return;
+            }
+            switch (event.getType()) {
+                case NEW_BOARD -> {
+                    gameId = beginGame(state.getWordOptions(), state.getTargetWord());
+                    // History ids outlive the process; this line ties them to the service's log lines
+                    if (logger.isInfoEnabled()) {
+                        logger.info("Game {game} recorded as history game {history}", state.getGameId(), gameId);
+                    }
+                }
+                case GUESS_MADE -> {
+                    List<String> attempts = state.getAttemptedWords();
+                    List<Integer> feedback = state.getFeedbackScores();
+                    recordGuess(gameId, state.getWordOptions().indexOf(attempts.get(attempts.size() - 1)),
+                            feedback.get(feedback.size() - 1));
+                }
+                case GAME_OVER -> {
+                    Outcome outcome = state.isGameWon() ? Outcome.WON : state.isTimedOut() ? Outcome.TIMED_OUT : Outcome.LOST;
+                    endGame(gameId, outcome, state.getCurrentAttempt(), state.getCurrentScore());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.decryption.model;
+
+import com.example.decryption.model.entity.GameState;
+import com.example.decryption.util.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a {@link GameHistoryLog} back.
+ *
+ * <p>Segments are memory-mapped and decoded block by block in one sequential pass. Blocks with
+ * a wrong length or checksum, as left by a crash or an append in progress, end the segment.
+ * Since segments are named after the first game id they may contain, replaying a single game
+ * starts at the segment it began in.
+ */
+public class GameReplayer {
+
+    /**
+     * Receives the events of a log in the order they were written
+     */
+    public interface EventVisitor {
+        void onNewGame(long gameId, long timestampMillis, List<String> wordOptions, int targetIndex);
+
+        void onGuess(long gameId, int wordIndex, int feedback);
+
+        void onEnd(long gameId, GameHistoryLog.Outcome outcome, int attempts, int score);
+    }
+
+    private static final Logger logger = new Logger("GameReplayer");
+    private static final GameHistoryLog.Outcome[] OUTCOMES = GameHistoryLog.Outcome.values();
+
+    private final Path directory;
+
+    public GameReplayer(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Visits every event of the log
+     * @return Number of events read
+     */
+    public long scan(EventVisitor visitor) throws IOException {
+        long events = 0;
+        for (Path segment : GameHistoryLog.segments(directory)) {
+            events += scanSegment(segment, visitor, () -> false);
+        }
+        return events;
+    }
+
+    /**
+     * Rebuilds the state of one game as it was after its last recorded event
+     * @return The game, or null if the log does not contain it
+     */
+    public GameState replay(long gameId) throws IOException {
+        List<Path> segments = GameHistoryLog.segments(directory);
+        int first = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            if (GameHistoryLog.firstGameId(segments.get(i)) <= gameId) {
+                first = i;
+            }
+        }
+
+        StateBuilder builder = new StateBuilder(gameId);
+        for (int i = first; i < segments.size() && !builder.finished; i++) {
+            scanSegment(segments.get(i), builder, () -> builder.finished);
+        }
+        return builder.games.get(gameId);
+    }
+
+    /**
+     * Rebuilds every finished game, in the order the games ended
+     * @return Number of games passed to the consumer
+     */
+    public long forEachGame(Consumer<GameState> consumer) throws IOException {
+        StateBuilder builder = new StateBuilder(-1);
+        builder.finishedGames = consumer;
+        scan(builder);
+        return builder.finishedCount;
+    }
+
+    /**
+     * @return The highest game id any event of a segment refers to, or -1 if it holds no events.
+     *         A segment may hold only guesses and ends of games that started before it.
+     */
+    static long maxGameId(Path segment) throws IOException {
+        long[] max = {-1};
+        scanSegment(segment, new EventVisitor() {
+            @Override
+            public void onNewGame(long gameId, long timestampMillis, List<String> wordOptions, int targetIndex) {
+                max[0] = Math.max(max[0], gameId);
+            }
+
+            @Override
+            public void onGuess(long gameId, int wordIndex, int feedback) {
+                max[0] = Math.max(max[0], gameId);
+            }
+
+            @Override
+            public void onEnd(long gameId, GameHistoryLog.Outcome outcome, int attempts, int score) {
+                max[0] = Math.max(max[0], gameId);
+            }
+        }, () -> false);
+        return max[0];
+    }
+
+    private static long scanSegment(Path segment, EventVisitor visitor, BooleanSupplier done) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < GameHistoryLog.SEGMENT_HEADER_SIZE
+                || buffer.getInt(0) != GameHistoryLog.MAGIC || buffer.getInt(4) != GameHistoryLog.VERSION) {
+            logger.warn("Skipping game history segment with unknown format: {segment}", segment);
+            return 0;
+        }
+
+        CRC32 crc = new CRC32();
+        long events = 0;
+        int position = GameHistoryLog.SEGMENT_HEADER_SIZE;
+        while (position + GameHistoryLog.BLOCK_HEADER_SIZE <= buffer.limit() && !done.getAsBoolean()) {
+            int length = buffer.getInt(position);
+            int checksum = buffer.getInt(position + 4);
+            int start = position + GameHistoryLog.BLOCK_HEADER_SIZE;
+            if (length <= 0 || length > GameHistoryLog.BLOCK_SIZE || start + length > buffer.limit()) {
+                logger.warn("Incomplete block in {segment} at offset {offset}, ignoring the rest", segment, position);
+                break;
+            }
+            ByteBuffer block = buffer.slice(start, length);
+            crc.reset();
+            crc.update(block);
+            if ((int) crc.getValue() != checksum) {
+                logger.warn("Corrupt block in {segment} at offset {offset}, ignoring the rest", segment, position);
+                break;
+            }
+            block.rewind();
+            events += decodeBlock(block, visitor);
+            position = start + length;
+        }
+        return events;
+    }
+
+    private static int decodeBlock(ByteBuffer block, EventVisitor visitor) {
+        int events = 0;
+        byte[] word = new byte[64];
+        while (block.hasRemaining()) {
+            byte type = block.get();
+            long gameId = getVarLong(block);
+            switch (type) {
+                case GameHistoryLog.NEW_GAME -> {
+                    long timestamp = getVarLong(block);
+                    String[] words = new String[block.get() & 0xFF];
+                    for (int i = 0; i < words.length; i++) {
+                        int length = block.get() & 0xFF;
+                        if (word.length < length) {
+                            word = new byte[length];
+                        }
+                        block.get(word, 0, length);
+                        words[i] = new String(word, 0, length, StandardCharsets.UTF_8);
+                    }
+                    visitor.onNewGame(gameId, timestamp, Arrays.asList(words), block.get() & 0xFF);
+                }
+                case GameHistoryLog.GUESS -> visitor.onGuess(gameId, block.get() & 0xFF, block.get() & 0xFF);
+                case GameHistoryLog.END -> visitor.onEnd(gameId, OUTCOMES[block.get()], block.get() & 0xFF, (int) getVarLong(block));
+                default -> throw new IllegalStateException("Unknown game history event type " + type);
+            }
+            events++;
+        }
+        return events;
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * Applies events to game states, either of one game or of all games
+     */
+    private static final class StateBuilder implements EventVisitor {
+        private final long onlyGameId;
+        private final Map<Long, GameState> games = new HashMap<>();
+        private Consumer<GameState> finishedGames;
+        private long finishedCount;
+        private boolean finished;
+
+        StateBuilder(long onlyGameId) {
+            this.onlyGameId = onlyGameId;
+        }
+
+        private GameState game(long gameId) {
+            return onlyGameId >= 0 && gameId != onlyGameId ? null : games.get(gameId);
+        }
+
+        @Override
+        public void onNewGame(long gameId, long timestampMillis, List<String> wordOptions, int targetIndex) {
+            if (onlyGameId >= 0 && gameId != onlyGameId) {
+                return;
+            }
+            GameState state = new GameState();
+            state.setWordOptions(wordOptions);
+            state.setTargetWord(wordOptions.get(targetIndex));
+            games.put(gameId, state);
+        }
+
+        @Override
+        public void onGuess(long gameId, int wordIndex, int feedback) {
+            GameState state = game(gameId);
+            if (state == null) {
+                return;
+            }
+            state.setCurrentAttempt(state.getCurrentAttempt() + 1);
+            state.addAttemptedWord(state.getWordOptions().get(wordIndex));
+            state.addFeedbackScore(feedback);
+        }
+
+        @Override
+        public void onEnd(long gameId, GameHistoryLog.Outcome outcome, int attempts, int score) {
+            GameState state = game(gameId);
+            if (state == null) {
+                return;
+            }
+            state.setGameOver(true);
+            state.setGameWon(outcome == GameHistoryLog.Outcome.WON);
+            state.setTimedOut(outcome == GameHistoryLog.Outcome.TIMED_OUT);
+            state.setCurrentScore(score);
+
+            if (onlyGameId >= 0) {
+                finished = true;
+            } else if (finishedGames != null) {
+                games.remove(gameId);
+                finishedGames.accept(state);
+                finishedCount++;
+            }
+        }
+    }
+}
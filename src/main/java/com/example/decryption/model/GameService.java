@@ -1,21 +1,48 @@
 package com.example.decryption.model;
 
+import com.example.decryption.model.entity.GameEvent;
+import com.example.decryption.model.entity.GameEventListener;
 import com.example.decryption.model.entity.GameState;
+import com.example.decryption.util.GameMetrics;
+import com.example.decryption.util.HashedWheelTimer;
 import com.example.decryption.util.Logger;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Main game logic implementation.
  * Handles the core gameplay mechanics and scoring.
+ *
+ * <p>In timed mode every game has a deadline for the whole game, for each guess, or both.
+ * A game whose deadline passes is lost. Deadlines are scheduled on a shared
+ * {@link HashedWheelTimer}, whose thread expires games through the same lock as
+ * {@link #startNewGame()} and {@link #makeGuess(String)}.
  */
 public class GameService {
 
     private static final Logger logger = new Logger("GameService");
+    private static final GameMetrics metrics = GameMetrics.getInstance();
+    // Tags the log lines of each game, so games of concurrent sessions can be told apart in one log
+    private static final AtomicLong gameIds = new AtomicLong();
 
     private final WordListProvider wordListProvider;
     private final ScoreManager scoreManager;
+    private final SolverService solverService = new SolverService();
     private GameState gameState;
+    private long gameId;
+    private BoardAnalysis boardAnalysis;
+    private Difficulty difficulty;
+    private final AtomicReference<GameEventListener[]> listeners = new AtomicReference<>(new GameEventListener[0]);
+
+    private HashedWheelTimer timer;
+    private long gameTimeLimitMillis;
+    private long guessTimeLimitMillis;
+    private HashedWheelTimer.Timeout deadline;
+    private long deadlineGeneration;
 
     public GameService(WordListProvider wordListProvider, ScoreManager scoreManager) {
         this.wordListProvider = wordListProvider;
@@ -26,15 +53,20 @@ public class GameService {
     /**
      * Starts a new game by generating a new list of 8 words and picking a target.
      */
-    public void startNewGame() {
+    public synchronized void startNewGame() {
+        long startNanos = System.nanoTime();
+        cancelDeadline();
         gameState = new GameState();
+        gameId = gameIds.incrementAndGet();
+        gameState.setGameId(gameId);
 
-        List<String> freshWords = wordListProvider.generateFreshWordList();
+        List<String> freshWords = wordListProvider.generateFreshWordList(difficulty);
         if (freshWords == null || freshWords.size() != 8) {
             throw new IllegalStateException("Word list must contain exactly 8 words.");
         }
 
         gameState.setWordOptions(freshWords);
+        boardAnalysis = null;
 
         String targetWord = wordListProvider.selectTargetWord(freshWords);
         if (!freshWords.contains(targetWord)) {
@@ -42,24 +74,46 @@ public class GameService {
         }
 
         gameState.setTargetWord(targetWord);
+        if (timer != null) {
+            long nowNanos = System.nanoTime();
+            long nowMillis = System.currentTimeMillis();
+            if (gameTimeLimitMillis > 0) {
+                gameState.setGameDeadline(nowNanos + TimeUnit.MILLISECONDS.toNanos(gameTimeLimitMillis),
+                        nowMillis + gameTimeLimitMillis);
+            }
+            if (guessTimeLimitMillis > 0) {
+                gameState.setGuessDeadline(nowNanos + TimeUnit.MILLISECONDS.toNanos(guessTimeLimitMillis),
+                        nowMillis + guessTimeLimitMillis);
+            }
+            scheduleDeadline();
+        }
 
-        logger.info("New game started with target word: " + targetWord);
-        logger.info("Word options: " + String.join(", ", freshWords));
+        if (logger.isInfoEnabled()) {
+            logger.info("Game {game} started with target word: {target}", gameId, targetWord);
+            logger.info("Word options: {words}", String.join(", ", freshWords));
+        }
 
-        gameState.updateState();  // This should notify observers
+        fireEvent(GameEvent.Type.NEW_BOARD);
+        metrics.recordGameStart(startNanos);
     }
 
     /**
      * Process a player’s guess and return the result.
      */
-    public GuessResult makeGuess(String guessedWord) {
+    public synchronized GuessResult makeGuess(String guessedWord) {
+        long startNanos = System.nanoTime();
         if (gameState.isGameOver()) {
             logger.info("Game is already over");
             return new GuessResult(false, "Game is already over");
         }
+        if (isPastDeadline()) {
+            // The timer fires up to one tick late; never accept a guess after the deadline
+            expireGame();
+            return new GuessResult(false, "Time is up");
+        }
 
         if (!gameState.getWordOptions().contains(guessedWord)) {
-            logger.info("Invalid guess: " + guessedWord);
+            logger.info("Invalid guess: {word}", guessedWord);
             return new GuessResult(false, "Word is not in the options list");
         }
 
@@ -77,16 +131,35 @@ public class GameService {
             int score = scoreManager.calculateScore(gameState.getCurrentAttempt());
             gameState.setCurrentScore(score);
             scoreManager.recordGameResult(true, gameState.getCurrentAttempt());
+            metrics.recordGameResult(true);
 
-            logger.info("Player won on attempt " + gameState.getCurrentAttempt() + " with score " + score);
+            if (logger.isInfoEnabled()) {
+                logger.info("Game {game} won on attempt {attempt} with score {score}", gameId, gameState.getCurrentAttempt(), score);
+            }
         } else if (gameState.getCurrentAttempt() >= gameState.getMaxAttempts()) {
             gameState.setGameOver(true);
             scoreManager.recordGameResult(false, gameState.getCurrentAttempt());
+            metrics.recordGameResult(false);
 
-            logger.info("Player lost after " + gameState.getCurrentAttempt() + " attempts");
+            if (logger.isInfoEnabled()) {
+                logger.info("Game {game} lost after {attempts} attempts", gameId, gameState.getCurrentAttempt());
+            }
         }
 
-        gameState.updateState(); // Notify view to update
+        if (gameState.isGameOver()) {
+            cancelDeadline();
+        } else if (timer != null && guessTimeLimitMillis > 0) {
+            gameState.setGuessDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(guessTimeLimitMillis),
+                    System.currentTimeMillis() + guessTimeLimitMillis);
+            cancelDeadline();
+            scheduleDeadline();
+        }
+
+        fireEvent(GameEvent.Type.GUESS_MADE);
+        if (gameState.isGameOver()) {
+            fireEvent(GameEvent.Type.GAME_OVER);
+        }
+        metrics.recordGuess(startNanos);
 
         return new GuessResult(
                 isCorrect,
@@ -96,17 +169,142 @@ public class GameService {
         );
     }
 
+    /**
+     * Turns timed mode on for games started from now on
+     * @param timer Timer that expires the games, usually shared by many services
+     * @param gameTimeLimitMillis Time for the whole game; 0 for no limit
+     * @param guessTimeLimitMillis Time for each guess, restarted after every guess; 0 for no limit
+     */
+    public synchronized void setTimedMode(HashedWheelTimer timer, long gameTimeLimitMillis, long guessTimeLimitMillis) {
+        if (gameTimeLimitMillis < 0 || guessTimeLimitMillis < 0) {
+            throw new IllegalArgumentException("Time limits must not be negative");
+        }
+        boolean timed = gameTimeLimitMillis > 0 || guessTimeLimitMillis > 0;
+        this.timer = timed ? timer : null;
+        this.gameTimeLimitMillis = gameTimeLimitMillis;
+        this.guessTimeLimitMillis = guessTimeLimitMillis;
+    }
+
+    public boolean isTimed() {
+        return timer != null;
+    }
+
+    private boolean isPastDeadline() {
+        return gameState.getNanosUntilNextDeadline(System.nanoTime()) <= 0;
+    }
+
+    private void scheduleDeadline() {
+        long generation = ++deadlineGeneration;
+        long delay = gameState.getNanosUntilNextDeadline(System.nanoTime());
+        deadline = timer.newTimeout(() -> onDeadline(generation), delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void cancelDeadline() {
+        deadlineGeneration++;
+        if (deadline != null) {
+            deadline.cancel();
+            deadline = null;
+        }
+    }
+
+    /**
+     * Runs on the timer thread. A timeout that lost a race with a guess or a new game belongs
+     * to an older generation and does nothing.
+     */
+    private synchronized void onDeadline(long generation) {
+        if (generation != deadlineGeneration || gameState.isGameOver()) {
+            return;
+        }
+        if (isPastDeadline()) {
+            expireGame();
+        } else {
+            // Fired before the deadline; wait for the rest
+            scheduleDeadline();
+        }
+    }
+
+    private void expireGame() {
+        cancelDeadline();
+        gameState.setTimedOut(true);
+        gameState.setGameOver(true);
+        scoreManager.recordGameResult(false, gameState.getCurrentAttempt());
+        metrics.recordGameResult(false);
+        if (logger.isInfoEnabled()) {
+            logger.info("Game {game} timed out after {attempts} attempts", gameId, gameState.getCurrentAttempt());
+        }
+
+        fireEvent(GameEvent.Type.GAME_OVER);
+    }
+
     private int calculateCorrectCharacters(String guessedWord, String targetWord) {
-        int correctCount = 0;
-        int length = Math.min(guessedWord.length(), targetWord.length());
+        return FeedbackCalculator.matchCount(guessedWord, targetWord);
+    }
+
+    /**
+     * Registers a listener for game events.
+     * Listeners live on the service, so they keep receiving events across new games.
+     * Registration swaps a copy-on-write array with a CAS and never blocks.
+     */
+    public void addListener(GameEventListener listener) {
+        GameEventListener[] current;
+        GameEventListener[] updated;
+        do {
+            current = listeners.get();
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = listener;
+        } while (!listeners.compareAndSet(current, updated));
+    }
 
-        for (int i = 0; i < length; i++) {
-            if (guessedWord.charAt(i) == targetWord.charAt(i)) {
-                correctCount++;
+    public void removeListener(GameEventListener listener) {
+        GameEventListener[] current;
+        GameEventListener[] updated;
+        do {
+            current = listeners.get();
+            int index = Arrays.asList(current).indexOf(listener);
+            if (index < 0) {
+                return;
             }
+            updated = new GameEventListener[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        } while (!listeners.compareAndSet(current, updated));
+    }
+
+    private void fireEvent(GameEvent.Type type) {
+        GameEventListener[] current = listeners.get();
+        if (current.length == 0) {
+            return;
         }
+        GameEvent event = new GameEvent(type, gameState);
+        for (GameEventListener listener : current) {
+            listener.onGameEvent(event);
+        }
+    }
+
+    /**
+     * Sets the difficulty of boards generated for new games
+     * @param difficulty The target difficulty, or null for random boards
+     */
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
 
-        return correctCount;
+    /**
+     * Suggests the next guess based on the feedback received so far.
+     * The board's pairwise feedback table is computed on the first request and reused.
+     */
+    public SolverService.Hint getHint() {
+        if (gameState.getWordOptions() == null) {
+            throw new IllegalStateException("No game in progress");
+        }
+        if (boardAnalysis == null) {
+            boardAnalysis = BoardAnalysis.of(gameState.getWordOptions());
+        }
+        return solverService.suggest(boardAnalysis, gameState.getAttemptedWords(), gameState.getFeedbackScores());
     }
 
     public GameState getGameState() {
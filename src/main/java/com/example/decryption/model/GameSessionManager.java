@@ -0,0 +1,315 @@
+package com.example.decryption.model;
+
+import com.example.decryption.model.entity.GameState;
+import com.example.decryption.util.HashedWheelTimer;
+import com.example.decryption.util.Logger;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Headless game engine that runs many independent games at once.
+ * Every session owns its own {@link GameService}, so guesses on different sessions
+ * never share mutable state. Sessions are spread over independent shards and
+ * sessions that stay idle longer than the configured timeout are evicted.
+ * In timed mode all sessions share one {@link HashedWheelTimer} for their deadlines.
+ */
+public class GameSessionManager implements AutoCloseable {
+
+    private static final Logger logger = new Logger("GameSessionManager");
+    private static final int DEFAULT_SHARD_COUNT = 64;
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final long DEADLINE_TICK_MILLIS = 10;
+    private static final int DEADLINE_WHEEL_SIZE = 1024;
+
+    private final WordListProvider wordListProvider;
+    private final ScoreManager scoreManager;
+    private final List<Map<String, GameSession>> shards;
+    private final int shardMask;
+    private final long idleTimeoutNanos;
+    private final AtomicLong sessionSequence = new AtomicLong();
+    private final ScheduledExecutorService evictor;
+    private volatile HashedWheelTimer deadlineTimer;
+    private volatile long gameTimeLimitMillis;
+    private volatile long guessTimeLimitMillis;
+    private volatile GameHistoryLog historyLog;
+
+    private final LongAdder sessionsCreated = new LongAdder();
+    private final LongAdder sessionsEvicted = new LongAdder();
+    private final LongAdder guessesProcessed = new LongAdder();
+
+    public GameSessionManager(WordListProvider wordListProvider, ScoreManager scoreManager) {
+        this(wordListProvider, scoreManager, DEFAULT_SHARD_COUNT, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param shardCount Number of registry shards, rounded up to a power of two
+     * @param idleTimeoutMillis Sessions untouched for longer than this are evicted; 0 disables eviction
+     */
+    public GameSessionManager(WordListProvider wordListProvider, ScoreManager scoreManager,
+                              int shardCount, long idleTimeoutMillis) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        this.wordListProvider = wordListProvider;
+        this.scoreManager = scoreManager;
+
+        int size = shardCount == 1 ? 1 : Integer.highestOneBit(shardCount - 1) << 1;
+        List<Map<String, GameSession>> shards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            shards.add(new ConcurrentHashMap<>());
+        }
+        this.shards = List.copyOf(shards);
+        this.shardMask = size - 1;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+
+        if (idleTimeoutMillis > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "session-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long sweepInterval = Math.max(1, idleTimeoutMillis / 4);
+            evictor.scheduleWithFixedDelay(this::evictIdleSessions, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+    }
+
+    /**
+     * Creates a new session and starts its first game.
+     * @return The ID of the new session
+     */
+    public String createSession() {
+        String sessionId = Long.toString(sessionSequence.incrementAndGet(), 36);
+        GameService service = new GameService(wordListProvider, scoreManager);
+        HashedWheelTimer timer = deadlineTimer;
+        if (timer != null) {
+            service.setTimedMode(timer, gameTimeLimitMillis, guessTimeLimitMillis);
+        }
+        GameHistoryLog history = historyLog;
+        if (history != null) {
+            service.addListener(history.newRecorder());
+        }
+        GameSession session = new GameSession(service);
+        service.startNewGame();
+        shardFor(sessionId).put(sessionId, session);
+        sessionsCreated.increment();
+        return sessionId;
+    }
+
+    /**
+     * Turns timed mode on for sessions created from now on.
+     * Games whose deadline passes are lost and recorded as losses, including games of
+     * sessions that were closed or evicted while the game was running.
+     * @param gameTimeLimitMillis Time for the whole game; 0 for no limit
+     * @param guessTimeLimitMillis Time for each guess; 0 for no limit
+     */
+    public synchronized void enableTimedMode(long gameTimeLimitMillis, long guessTimeLimitMillis) {
+        if (gameTimeLimitMillis < 0 || guessTimeLimitMillis < 0) {
+            throw new IllegalArgumentException("Time limits must not be negative");
+        }
+        if (gameTimeLimitMillis == 0 && guessTimeLimitMillis == 0) {
+            return;
+        }
+        this.gameTimeLimitMillis = gameTimeLimitMillis;
+        this.guessTimeLimitMillis = guessTimeLimitMillis;
+        if (deadlineTimer == null) {
+            deadlineTimer = new HashedWheelTimer(DEADLINE_TICK_MILLIS, TimeUnit.MILLISECONDS, DEADLINE_WHEEL_SIZE, "game-deadlines");
+        }
+        logger.info("Timed mode enabled: game {gameMillis} ms, guess {guessMillis} ms", gameTimeLimitMillis, guessTimeLimitMillis);
+    }
+
+    /**
+     * Records the games of sessions created from now on. The log stays owned by the caller.
+     */
+    public void recordHistory(GameHistoryLog historyLog) {
+        this.historyLog = historyLog;
+    }
+
+    /**
+     * @return Number of game deadlines waiting on the timer
+     */
+    public long getPendingDeadlineCount() {
+        HashedWheelTimer timer = deadlineTimer;
+        return timer == null ? 0 : timer.getPendingCount();
+    }
+
+    /**
+     * Starts a new game in an existing session
+     */
+    public void startNewGame(String sessionId) {
+        withSession(sessionId, service -> {
+            service.startNewGame();
+            return null;
+        });
+    }
+
+    /**
+     * Processes a guess for the given session
+     */
+    public GameService.GuessResult makeGuess(String sessionId, String guessedWord) {
+        return makeGuess(sessionId, guessedWord, (attemptsBefore, result, state) -> result);
+    }
+
+    /**
+     * Processes a guess and builds a reply from the game it left, all under the session's lock,
+     * so a deadline cannot end the game between the guess and the reply
+     */
+    public <T> T makeGuess(String sessionId, String guessedWord, GuessReply<T> reply) {
+        T response = withSession(sessionId, service -> {
+            int attemptsBefore = service.getGameState().getCurrentAttempt();
+            GameService.GuessResult result = service.makeGuess(guessedWord);
+            return reply.apply(attemptsBefore, result, service.getGameState());
+        });
+        guessesProcessed.increment();
+        return response;
+    }
+
+    /**
+     * Runs an action against the game of a session while holding that session's lock.
+     * The lock is the game service itself, which its deadline timer also takes, so nothing
+     * changes the game while the action runs. Only callers of the same session are serialized
+     * against each other.
+     * @throws UnknownSessionException If the session does not exist or has been evicted
+     */
+    public <T> T withSession(String sessionId, Function<GameService, T> action) {
+        GameSession session = shardFor(sessionId).get(sessionId);
+        if (session == null) {
+            throw new UnknownSessionException(sessionId);
+        }
+        session.lastAccessNanos = System.nanoTime();
+        synchronized (session.service) {
+            return action.apply(session.service);
+        }
+    }
+
+    /**
+     * Gets the state of the current game in a session.
+     * The returned object is live; use {@link #withSession} for consistent reads under concurrency.
+     */
+    public GameState getGameState(String sessionId) {
+        return withSession(sessionId, GameService::getGameState);
+    }
+
+    public boolean hasSession(String sessionId) {
+        return shardFor(sessionId).containsKey(sessionId);
+    }
+
+    /**
+     * Removes a session
+     * @return true if the session existed
+     */
+    public boolean closeSession(String sessionId) {
+        return shardFor(sessionId).remove(sessionId) != null;
+    }
+
+    /**
+     * Removes every session that has not been accessed within the idle timeout
+     * @return Number of evicted sessions
+     */
+    public int evictIdleSessions() {
+        if (idleTimeoutNanos <= 0) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Map<String, GameSession> shard : shards) {
+            Iterator<GameSession> it = shard.values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next().lastAccessNanos > idleTimeoutNanos) {
+                    it.remove();
+                    evicted++;
+                }
+            }
+        }
+
+        if (evicted > 0) {
+            sessionsEvicted.add(evicted);
+            logger.info("Evicted {sessions} idle sessions", evicted);
+        }
+        return evicted;
+    }
+
+    public int getActiveSessionCount() {
+        int count = 0;
+        for (Map<String, GameSession> shard : shards) {
+            count += shard.size();
+        }
+        return count;
+    }
+
+    public long getSessionsCreated() {
+        return sessionsCreated.sum();
+    }
+
+    public long getSessionsEvicted() {
+        return sessionsEvicted.sum();
+    }
+
+    public long getGuessesProcessed() {
+        return guessesProcessed.sum();
+    }
+
+    @Override
+    public void close() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        if (deadlineTimer != null) {
+            deadlineTimer.close();
+        }
+        for (Map<String, GameSession> shard : shards) {
+            shard.clear();
+        }
+    }
+
+    private Map<String, GameSession> shardFor(String sessionId) {
+        int h = sessionId.hashCode();
+        h ^= (h >>> 16);
+        return shards.get(h & shardMask);
+    }
+
+    /**
+     * Turns the outcome of a guess into a reply
+     */
+    @FunctionalInterface
+    public interface GuessReply<T> {
+        /**
+         * @param attemptsBefore Attempts of the game before this guess; unchanged if the guess was rejected
+         * @param state The game after the guess
+         */
+        T apply(int attemptsBefore, GameService.GuessResult result, GameState state);
+    }
+
+    /**
+     * Thrown for a session id that was never created, or whose session was closed or evicted
+     */
+    public static class UnknownSessionException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+
+        public UnknownSessionException(String sessionId) {
+            super("Unknown session: " + sessionId);
+        }
+    }
+
+    private static final class GameSession {
+        private final GameService service;
+        private volatile long lastAccessNanos;
+
+        private GameSession(GameService service) {
+            this.service = service;
+            this.lastAccessNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.decryption.model;
+
+import com.example.decryption.util.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Highscore table of total points per player.
+ *
+ * <p>Players are kept in a concurrent skip list ordered by score, so the top K are read in
+ * O(log n + K). Ranks come from an order-statistic tree over the distinct scores that counts
+ * the players at each: the rank of a score is one plus the number of players above it, found
+ * in O(log d) for d distinct scores. Memory grows with the number of distinct scores, not with
+ * their size. Players with equal scores share a rank. Updates to one player are serialized
+ * through the player map; updates to the tree are serialized with each other and publish a
+ * new immutable version, so rank queries never block submissions.
+ *
+ * <p>When a snapshot file is given, the table is loaded from it and written back periodically
+ * and on close, through a temporary file that is atomically moved into place.
+ */
+public class Leaderboard implements AutoCloseable {
+
+    private static final Logger logger = new Logger("Leaderboard");
+    private static final int SNAPSHOT_MAGIC = 0x4C425244; // "LBRD"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final Comparator<Entry> RANKING = (a, b) -> a.score != b.score
+            ? Integer.compare(b.score, a.score)
+            : a.player.compareTo(b.player);
+
+    private final Map<String, Entry> players = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANKING);
+    private final Object treeWriteLock = new Object();
+    private volatile ScoreNode tree;
+
+    private final Path snapshotFile;
+    private final ScheduledExecutorService snapshotter;
+
+    /**
+     * Creates an in-memory leaderboard
+     */
+    public Leaderboard() {
+        this.snapshotFile = null;
+        this.snapshotter = null;
+    }
+
+    /**
+     * Creates a leaderboard that is loaded from and periodically saved to a snapshot file
+     * @param snapshotIntervalMillis Time between snapshots; 0 saves only on close
+     */
+    public Leaderboard(Path snapshotFile, long snapshotIntervalMillis) {
+        this.snapshotFile = snapshotFile;
+        loadSnapshot();
+
+        if (snapshotIntervalMillis > 0) {
+            snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "leaderboard-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotter.scheduleWithFixedDelay(this::saveSnapshot, snapshotIntervalMillis, snapshotIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            snapshotter = null;
+        }
+    }
+
+    /**
+     * Adds points to a player's total, creating the player on first use
+     * @return The player's new total
+     * @throws IllegalArgumentException If the points are negative or the total would overflow;
+     *         the leaderboard is left unchanged
+     */
+    public int submitScore(String player, int points) {
+        if (points < 0) {
+            throw new IllegalArgumentException("Points must not be negative: " + points);
+        }
+        Entry updated = players.compute(player, (name, old) -> {
+            int oldScore = old == null ? 0 : old.score;
+            if (points > Integer.MAX_VALUE - oldScore) {
+                throw new IllegalArgumentException("Total of " + name + " would overflow: " + oldScore + " + " + points);
+            }
+            Entry next = new Entry(name, oldScore + points);
+            if (old != null) {
+                ranking.remove(old);
+            }
+            ranking.add(next);
+            moveInTree(old == null ? -1 : old.score, next.score);
+            return next;
+        });
+        return updated.score;
+    }
+
+    /**
+     * @return Up to k players with the highest totals, best first
+     */
+    public List<Entry> top(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, 1024));
+        for (Entry entry : ranking) {
+            if (result.size() >= k) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * @return The 1-based rank of a player, or -1 if the player has no score
+     */
+    public int rank(String player) {
+        Entry entry = players.get(player);
+        return entry == null ? -1 : rankOfScore(entry.score);
+    }
+
+    /**
+     * @return The rank a player with the given total would have
+     */
+    public int rankOfScore(int score) {
+        return ScoreNode.countAbove(tree, score) + 1;
+    }
+
+    /**
+     * @return The player's entry, or null
+     */
+    public Entry get(String player) {
+        return players.get(player);
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    private void moveInTree(int oldScore, int newScore) {
+        synchronized (treeWriteLock) {
+            ScoreNode root = tree;
+            if (oldScore >= 0) {
+                root = ScoreNode.add(root, oldScore, -1);
+            }
+            tree = ScoreNode.add(root, newScore, 1);
+        }
+    }
+
+    /**
+     * Persistent treap over the distinct scores. Every node holds the number of players with
+     * its score and the total of its subtree, so the players above a score are summed along one
+     * root-to-leaf path. Updates copy that path and leave every published tree unchanged.
+     * Priorities are a hash of the score, which keeps the expected depth logarithmic.
+     */
+    private static final class ScoreNode {
+        private final int score;
+        private final int count;
+        private final int total;
+        private final ScoreNode left;
+        private final ScoreNode right;
+
+        private ScoreNode(int score, int count, ScoreNode left, ScoreNode right) {
+            this.score = score;
+            this.count = count;
+            this.left = left;
+            this.right = right;
+            this.total = count + total(left) + total(right);
+        }
+
+        static int total(ScoreNode node) {
+            return node == null ? 0 : node.total;
+        }
+
+        static int countAbove(ScoreNode node, int score) {
+            int above = 0;
+            while (node != null) {
+                if (node.score > score) {
+                    above += node.count + total(node.right);
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+            return above;
+        }
+
+        /**
+         * @return A tree in which the count of a score changed by delta; scores whose count drops to 0 are removed
+         */
+        static ScoreNode add(ScoreNode node, int score, int delta) {
+            if (node == null) {
+                return new ScoreNode(score, delta, null, null);
+            }
+            if (score == node.score) {
+                int count = node.count + delta;
+                return count == 0 ? merge(node.left, node.right) : new ScoreNode(score, count, node.left, node.right);
+            }
+            if (score < node.score) {
+                ScoreNode left = add(node.left, score, delta);
+                if (left != null && priority(left.score) > priority(node.score)) {
+                    return new ScoreNode(left.score, left.count, left.left,
+                            new ScoreNode(node.score, node.count, left.right, node.right));
+                }
+                return new ScoreNode(node.score, node.count, left, node.right);
+            }
+            ScoreNode right = add(node.right, score, delta);
+            if (right != null && priority(right.score) > priority(node.score)) {
+                return new ScoreNode(right.score, right.count,
+                        new ScoreNode(node.score, node.count, node.left, right.left), right.right);
+            }
+            return new ScoreNode(node.score, node.count, node.left, right);
+        }
+
+        private static ScoreNode merge(ScoreNode low, ScoreNode high) {
+            if (low == null) {
+                return high;
+            }
+            if (high == null) {
+                return low;
+            }
+            if (priority(low.score) > priority(high.score)) {
+                return new ScoreNode(low.score, low.count, low.left, merge(low.right, high));
+            }
+            return new ScoreNode(high.score, high.count, merge(low, high.left), high.right);
+        }
+
+        private static int priority(int score) {
+            int h = score * 0x9E3779B9;
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            return h ^ (h >>> 13);
+        }
+    }
+
+    /**
+     * Writes all players to the snapshot file
+     */
+    public void saveSnapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        List<Entry> entries = new ArrayList<>(ranking);
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut, 1 << 16), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(entries.size());
+            for (Entry entry : entries) {
+                out.writeUTF(entry.player);
+                out.writeInt(entry.score);
+            }
+            out.flush();
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            fileOut.getFD().sync();
+        } catch (IOException e) {
+            logger.error("Error writing leaderboard snapshot", e);
+            return;
+        }
+
+        try {
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Saved leaderboard snapshot with {players} players", entries.size());
+        } catch (IOException e) {
+            logger.error("Error replacing leaderboard snapshot", e);
+        }
+    }
+
+    private void loadSnapshot() {
+        try {
+            // An empty file, e.g. one just created for the snapshot, holds no snapshot yet
+            if (!Files.exists(snapshotFile) || Files.size(snapshotFile) == 0) {
+                return;
+            }
+        } catch (IOException e) {
+            logger.error("Error loading leaderboard snapshot", e);
+            return;
+        }
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile), 1 << 16), crc))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                logger.warn("Ignoring leaderboard snapshot with unknown format: {file}", snapshotFile);
+                return;
+            }
+            int count = in.readInt();
+            List<Entry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(new Entry(in.readUTF(), in.readInt()));
+            }
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                logger.warn("Ignoring corrupt leaderboard snapshot: {file}", snapshotFile);
+                return;
+            }
+            for (Entry entry : entries) {
+                submitScore(entry.player, entry.score);
+            }
+            logger.info("Loaded leaderboard with {players} players", entries.size());
+        } catch (EOFException e) {
+            logger.warn("Ignoring truncated leaderboard snapshot: {file}", snapshotFile);
+        } catch (IOException e) {
+            logger.error("Error loading leaderboard snapshot", e);
+        }
+    }
+
+    /**
+     * Stops periodic snapshots and writes a final one
+     */
+    @Override
+    public void close() {
+        if (snapshotter != null) {
+            snapshotter.shutdown();
+            try {
+                snapshotter.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        saveSnapshot();
+    }
+
+    /**
+     * A player's total
+     */
+    public static final class Entry {
+        private final String player;
+        private final int score;
+
+        public Entry(String player, int score) {
+            this.player = player;
+            this.score = score;
+        }
+
+        public String getPlayer() {
+            return player;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.decryption.model;
+
+import com.example.decryption.util.Logger;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Per-player statistics in a memory-mapped file.
+ *
+ * <p>Every player owns a fixed-size record at {@code HEADER_SIZE + id * RECORD_SIZE}, so a
+ * profile is found by arithmetic and updated in place with atomic adds on the mapped pages;
+ * nothing is serialized and nothing but the touched pages is loaded. The file is mapped in
+ * chunks of {@value #RECORDS_PER_CHUNK} records on the first write and grows sparsely, so
+ * unused ids cost no disk space. Reads of chunks that were never written go through the
+ * channel and never grow the file. The operating system writes dirty pages back; {@link #force()}
+ * makes them durable.
+ *
+ * <p>Record layout, little-endian:
+ * <pre>
+ *  0 int   flags (1 = profile exists)
+ *  4 int   games played
+ *  8 int   games won
+ * 12 int   reserved
+ * 16 long  total score
+ * 24 int[] wins per attempt 1..{@value #TRACKED_ATTEMPTS}
+ * 56 long  last result, epoch millis
+ * </pre>
+ */
+public class ProfileStore implements AutoCloseable {
+
+    private static final Logger logger = new Logger("ProfileStore");
+    private static final int MAGIC = 0x50525346; // "PRSF"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 64;
+    static final int TRACKED_ATTEMPTS = 8;
+    private static final int CHUNK_SHIFT = 16;
+    private static final int RECORDS_PER_CHUNK = 1 << CHUNK_SHIFT;
+    private static final long CHUNK_BYTES = (long) RECORDS_PER_CHUNK * RECORD_SIZE;
+
+    private static final int FLAGS = 0;
+    private static final int GAMES_PLAYED = 4;
+    private static final int GAMES_WON = 8;
+    private static final int TOTAL_SCORE = 16;
+    private static final int ATTEMPTS = 24;
+    private static final int LAST_PLAYED = 56;
+
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final AtomicReferenceArray<MappedByteBuffer> chunks =
+            new AtomicReferenceArray<>((Integer.MAX_VALUE >> CHUNK_SHIFT) + 1);
+    private volatile boolean closed;
+
+    /**
+     * Opens or creates a profile store
+     */
+    public ProfileStore(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (channel.size() < HEADER_SIZE) {
+            header.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).flip();
+            channel.write(header.limit(HEADER_SIZE), 0);
+        } else {
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getInt() != RECORD_SIZE) {
+                channel.close();
+                throw new IOException("Not a profile store: " + path);
+            }
+        }
+    }
+
+    /**
+     * Records a finished game for a player, creating the profile on first use
+     * @param score Points earned, as calculated by {@link ScoreManager#calculateScore(int)}
+     */
+    public void recordGameResult(int playerId, boolean won, int attemptNumber, int score) {
+        ByteBuffer chunk = chunkFor(playerId);
+        int base = offsetInChunk(playerId);
+
+        INT.getAndAdd(chunk, base + GAMES_PLAYED, 1);
+        if (won) {
+            INT.getAndAdd(chunk, base + GAMES_WON, 1);
+            if (attemptNumber >= 1 && attemptNumber <= TRACKED_ATTEMPTS) {
+                INT.getAndAdd(chunk, base + ATTEMPTS + (attemptNumber - 1) * Integer.BYTES, 1);
+            }
+        }
+        LONG.getAndAdd(chunk, base + TOTAL_SCORE, (long) score);
+        LONG.setRelease(chunk, base + LAST_PLAYED, System.currentTimeMillis());
+        INT.setRelease(chunk, base + FLAGS, 1);
+    }
+
+    /**
+     * Reads a player's statistics. The fields are read one by one, so a profile read while the
+     * player is being updated may count a game in some fields but not yet in others.
+     * @return The profile, or null if the player has no results
+     */
+    public Profile getProfile(int playerId) {
+        ByteBuffer chunk = mappedChunk(playerId);
+        int base = offsetInChunk(playerId);
+        if (chunk == null) {
+            chunk = readRecord(playerId);
+            base = 0;
+            if (chunk == null) {
+                return null;
+            }
+        }
+        if ((int) INT.getAcquire(chunk, base + FLAGS) == 0) {
+            return null;
+        }
+
+        int[] attempts = new int[TRACKED_ATTEMPTS];
+        for (int i = 0; i < TRACKED_ATTEMPTS; i++) {
+            attempts[i] = (int) INT.getAcquire(chunk, base + ATTEMPTS + i * Integer.BYTES);
+        }
+        return new Profile(playerId,
+                (long) LONG.getAcquire(chunk, base + TOTAL_SCORE),
+                (int) INT.getAcquire(chunk, base + GAMES_PLAYED),
+                (int) INT.getAcquire(chunk, base + GAMES_WON),
+                attempts,
+                (long) LONG.getAcquire(chunk, base + LAST_PLAYED));
+    }
+
+    private static int offsetInChunk(int playerId) {
+        return (playerId & (RECORDS_PER_CHUNK - 1)) * RECORD_SIZE;
+    }
+
+    private ByteBuffer chunkFor(int playerId) {
+        MappedByteBuffer chunk = mappedChunk(playerId);
+        return chunk != null ? chunk : mapChunk(playerId >> CHUNK_SHIFT);
+    }
+
+    /**
+     * @return The chunk holding a player's record if it is already mapped, else null
+     */
+    private MappedByteBuffer mappedChunk(int playerId) {
+        if (playerId < 0) {
+            throw new IllegalArgumentException("Player id must not be negative: " + playerId);
+        }
+        if (closed) {
+            throw new IllegalStateException("Profile store is closed: " + path);
+        }
+        return chunks.get(playerId >> CHUNK_SHIFT);
+    }
+
+    /**
+     * Reads a record of an unmapped chunk without mapping it
+     * @return The record at position 0 of a direct buffer, or null if the file does not reach it
+     */
+    private ByteBuffer readRecord(int playerId) {
+        long offset = HEADER_SIZE + (long) playerId * RECORD_SIZE;
+        try {
+            if (offset + RECORD_SIZE > channel.size()) {
+                return null;
+            }
+            // Direct, since the atomic view accessors reject heap buffers
+            ByteBuffer record = ByteBuffer.allocateDirect(RECORD_SIZE);
+            while (record.hasRemaining()) {
+                if (channel.read(record, offset + record.position()) < 0) {
+                    return null;
+                }
+            }
+            return record;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read profile " + playerId + " in " + path, e);
+        }
+    }
+
+    private synchronized MappedByteBuffer mapChunk(int index) {
+        MappedByteBuffer chunk = chunks.get(index);
+        if (chunk == null) {
+            try {
+                // Mapping past the end grows the file; untouched pages stay sparse
+                chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + index * CHUNK_BYTES, CHUNK_BYTES);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not map profiles of chunk " + index + " in " + path, e);
+            }
+            chunks.set(index, chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Writes all modified profiles to disk
+     */
+    public void force() {
+        for (int i = 0; i < chunks.length(); i++) {
+            MappedByteBuffer chunk = chunks.get(i);
+            if (chunk != null) {
+                chunk.force();
+            }
+        }
+    }
+
+    /**
+     * Forces pending changes to disk and closes the file
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.error("Error closing profile store", e);
+        }
+    }
+
+    /**
+     * A player's statistics at the time they were read
+     */
+    public static final class Profile {
+        private final int playerId;
+        private final long totalScore;
+        private final int gamesPlayed;
+        private final int gamesWon;
+        private final int[] attempts;
+        private final long lastPlayedMillis;
+
+        Profile(int playerId, long totalScore, int gamesPlayed, int gamesWon, int[] attempts, long lastPlayedMillis) {
+            this.playerId = playerId;
+            this.totalScore = totalScore;
+            this.gamesPlayed = gamesPlayed;
+            this.gamesWon = gamesWon;
+            this.attempts = attempts;
+            this.lastPlayedMillis = lastPlayedMillis;
+        }
+
+        public int getPlayerId() {
+            return playerId;
+        }
+
+        public long getTotalScore() {
+            return totalScore;
+        }
+
+        public int getGamesPlayed() {
+            return gamesPlayed;
+        }
+
+        public int getGamesWon() {
+            return gamesWon;
+        }
+
+        public long getLastPlayedMillis() {
+            return lastPlayedMillis;
+        }
+
+        /**
+         * @return Winning attempt number -> count, shaped like {@link ScoreManager#getAttemptDistribution()}
+         */
+        public Map<Integer, Integer> getAttemptDistribution() {
+            Map<Integer, Integer> distribution = new HashMap<>();
+            for (int i = 0; i < attempts.length; i++) {
+                if (i < 5 || attempts[i] > 0) {
+                    distribution.put(i + 1, attempts[i]);
+                }
+            }
+            return distribution;
+        }
+
+        /**
+         * @return Win rate as a double between 0 and 100
+         */
+        public double getWinPercentage() {
+            return gamesPlayed == 0 ? 0 : (double) gamesWon / gamesPlayed * 100;
+        }
+    }
+}
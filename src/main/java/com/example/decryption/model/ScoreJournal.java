@@ -0,0 +1,222 @@
+package com.example.decryption.model;
+
+import com.example.decryption.util.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of game results.
+ * Every result is a fixed-size record, so appending costs the same no matter how many games
+ * were played. Records are written immediately but forced to disk in groups: a background
+ * committer issues one fsync for everything appended since the previous commit.
+ *
+ * <p>The journal header carries a generation number. A snapshot with the same generation
+ * covers everything before the journal, so only the journal's records have to be replayed.
+ */
+public class ScoreJournal implements AutoCloseable {
+
+    /**
+     * Receives records during replay
+     */
+    public interface RecordConsumer {
+        void accept(long timestampMillis, boolean won, int attemptNumber, int score);
+    }
+
+    private static final Logger logger = new Logger("ScoreJournal");
+    private static final int MAGIC = 0x534A4E4C; // "SJNL"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService committer;
+
+    private long generation;
+    private long recordCount;
+    private volatile boolean dirty;
+
+    /**
+     * Opens or creates a journal
+     * @param commitIntervalMillis Maximum time an appended record waits for its fsync; 0 forces every append
+     */
+    public ScoreJournal(Path path, long commitIntervalMillis) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        if (channel.size() < HEADER_SIZE) {
+            writeHeader(0);
+        } else {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a score journal: " + path);
+            }
+            generation = header.getLong();
+        }
+
+        if (commitIntervalMillis > 0) {
+            committer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "score-journal-commit");
+                thread.setDaemon(true);
+                return thread;
+            });
+            committer.scheduleWithFixedDelay(this::commit, commitIntervalMillis, commitIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            committer = null;
+        }
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return Number of valid records in the journal
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Reads every valid record in order.
+     * A torn or corrupt record at the tail, left by a crash mid-write, ends the replay and is truncated.
+     * @return Number of records replayed
+     */
+    public synchronized long replay(RecordConsumer consumer) throws IOException {
+        long size = channel.size();
+        long position = HEADER_SIZE;
+        long count = 0;
+        ByteBuffer chunk = ByteBuffer.allocate(RECORD_SIZE * 1024);
+
+        outer:
+        while (position < size) {
+            chunk.clear();
+            int read = channel.read(chunk, position);
+            if (read <= 0) {
+                break;
+            }
+            chunk.flip();
+            while (chunk.remaining() >= RECORD_SIZE) {
+                int start = chunk.position();
+                crc.reset();
+                crc.update(chunk.array(), start, RECORD_SIZE - 4);
+                long timestamp = chunk.getLong();
+                boolean won = chunk.get() != 0;
+                int attempt = chunk.get();
+                int score = chunk.getShort();
+                int checksum = chunk.getInt();
+                if (checksum != (int) crc.getValue()) {
+                    logger.warn("Corrupt record in score journal at offset {offset}, discarding tail", position + start);
+                    position += start;
+                    break outer;
+                }
+                consumer.accept(timestamp, won, attempt, score);
+                count++;
+            }
+            position += chunk.position();
+            if (chunk.position() == 0) {
+                break;
+            }
+        }
+
+        if (position < size) {
+            channel.truncate(position);
+        }
+        channel.position(position);
+        recordCount = count;
+        return count;
+    }
+
+    /**
+     * Appends a result. The record is durable after the next group commit.
+     */
+    public void append(boolean won, int attemptNumber, int score) throws IOException {
+        append(System.currentTimeMillis(), won, attemptNumber, score);
+    }
+
+    /**
+     * Appends a result that happened at the given time
+     */
+    public synchronized void append(long timestampMillis, boolean won, int attemptNumber, int score) throws IOException {
+        record.clear();
+        record.putLong(timestampMillis);
+        record.put((byte) (won ? 1 : 0));
+        record.put((byte) attemptNumber);
+        record.putShort((short) score);
+        crc.reset();
+        crc.update(record.array(), 0, RECORD_SIZE - 4);
+        record.putInt((int) crc.getValue());
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        recordCount++;
+
+        if (committer == null) {
+            channel.force(false);
+        } else {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Forces everything appended so far to disk
+     */
+    public void commit() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            dirty = true;
+            logger.error("Error committing score journal", e);
+        }
+    }
+
+    /**
+     * Empties the journal and moves it to a new generation.
+     * Called after a snapshot of that generation has been written.
+     */
+    public synchronized void reset(long newGeneration) throws IOException {
+        channel.truncate(0);
+        writeHeader(newGeneration);
+        recordCount = 0;
+    }
+
+    private void writeHeader(long newGeneration) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(newGeneration).flip();
+        channel.write(header, 0);
+        channel.force(true);
+        channel.position(HEADER_SIZE);
+        generation = newGeneration;
+    }
+
+    @Override
+    public void close() {
+        if (committer != null) {
+            committer.shutdown();
+        }
+        dirty = true;
+        commit();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.error("Error closing score journal " + path, e);
+        }
+    }
+}
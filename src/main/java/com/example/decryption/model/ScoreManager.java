@@ -1,34 +1,126 @@
 package com.example.decryption.model;
 
+import com.example.decryption.util.GameMetrics;
 import com.example.decryption.util.Logger;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
 
 /**
  * Manages the player's score and statistics.
+ * Safe to share between concurrently running games: the totals are striped counters and a
+ * result is handed to a writer thread without taking a lock, so games finishing in different
+ * sessions do not wait for each other.
+ *
+ * <p>Results are persisted by appending a fixed-size record to a {@link ScoreJournal}.
+ * Every {@value #SNAPSHOT_INTERVAL} results the totals are compacted into a snapshot
+ * and the journal starts over. Loading reads the snapshot and replays the journal tail.
+ * The writer keeps its own totals of the results it has journaled, so a snapshot never
+ * includes a result that is still waiting to be written.
  */
-public class ScoreManager {
+public class ScoreManager implements AutoCloseable {
 
     private static final Logger logger = new Logger("ScoreManager");
-    private static final String SCORE_FILE_PATH = "scores.dat";
+    private static final GameMetrics metrics = GameMetrics.getInstance();
+    private static final String SCORE_FILE_NAME = "scores.dat";
+    private static final String JOURNAL_FILE_NAME = "scores.journal";
+    private static final int SNAPSHOT_MAGIC = 0x53534E50; // "SSNP"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_INTERVAL = 1000;
+    private static final long COMMIT_INTERVAL_MILLIS = 200;
+    // Results a caller may leave to the writer before it helps write them
+    private static final int MAX_PENDING_RESULTS = 1 << 16;
 
-    private int totalScore;
-    private int gamesPlayed;
-    private int gamesWon;
-    private Map<Integer, Integer> attemptDistribution; // Attempt number -> count
+    private final LongAdder totalScore = new LongAdder();
+    private final LongAdder gamesPlayed = new LongAdder();
+    private final LongAdder gamesWon = new LongAdder();
+    private final Map<Integer, LongAdder> attemptDistribution = new ConcurrentHashMap<>(); // Attempt number -> count
+    private final Path scoreFile;
+    private final Path journalFile;
 
+    // Results not journaled yet; the writer thread is started for the first one
+    private final Queue<Result> pendingResults = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private volatile ExecutorService writer;
+
+    // Totals of the journaled results, guarded by writeLock along with the journal
+    private final Object writeLock = new Object();
+    private int savedScore;
+    private int savedPlayed;
+    private int savedWon;
+    private Map<Integer, Integer> savedDistribution = new HashMap<>();
+    private long snapshotGeneration;
+    private ScoreJournal journal;
+
+    /**
+     * Creates a score manager that keeps its files in the working directory
+     */
     public ScoreManager() {
-        this.totalScore = 0;
-        this.gamesPlayed = 0;
-        this.gamesWon = 0;
-        this.attemptDistribution = new HashMap<>();
+        this(Paths.get(""));
+    }
+
+    /**
+     * Creates a score manager that keeps its files in the given directory
+     */
+    public ScoreManager(Path directory) {
+        this(directory, true);
+    }
+
+    /**
+     * For subclasses such as test doubles
+     * @param persistent false to keep the totals in memory only, as {@link #inMemory()} does
+     */
+    protected ScoreManager(boolean persistent) {
+        this(Paths.get(""), persistent);
+    }
+
+    private ScoreManager(Path directory, boolean persistent) {
+        this.scoreFile = directory.resolve(SCORE_FILE_NAME);
+        this.journalFile = directory.resolve(JOURNAL_FILE_NAME);
         for (int i = 1; i <= 5; i++) {
-            attemptDistribution.put(i, 0);
+            savedDistribution.put(i, 0);
+        }
+
+        if (persistent) {
+            synchronized (writeLock) {
+                loadScores();
+            }
+            if (journal != null) {
+                writer = Executors.newSingleThreadExecutor(r -> {
+                    Thread thread = new Thread(r, "score-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
         }
 
-        loadScores();
+        totalScore.add(savedScore);
+        gamesPlayed.add(savedPlayed);
+        gamesWon.add(savedWon);
+        savedDistribution.forEach((attempt, count) -> distributionCounter(attempt).add(count));
+    }
+
+    /**
+     * Creates a score manager that keeps its totals in memory only and never touches the score files
+     */
+    public static ScoreManager inMemory() {
+        return new ScoreManager(false);
     }
 
     /**
@@ -52,76 +144,244 @@ public class ScoreManager {
      * @param attemptNumber The attempt number when the game ended
      */
     public void recordGameResult(boolean won, int attemptNumber) {
-        gamesPlayed++;
-
+        int score = won ? calculateScore(attemptNumber) : 0;
+        gamesPlayed.increment();
         if (won) {
-            gamesWon++;
-            int score = calculateScore(attemptNumber);
-            totalScore += score;
+            gamesWon.increment();
+            totalScore.add(score);
+            distributionCounter(attemptNumber).increment();
+        }
 
-            // Update attempt distribution
-            attemptDistribution.put(attemptNumber, attemptDistribution.get(attemptNumber) + 1);
+        if (logger.isInfoEnabled()) {
+            if (won) {
+                logger.info("Game won on attempt {attempt} with score {score}", attemptNumber, score);
+            } else {
+                logger.info("Game lost after {attempts} attempts", attemptNumber);
+            }
+        }
 
-            logger.info("Game won on attempt " + attemptNumber + " with score " + score);
-        } else {
-            logger.info("Game lost after " + attemptNumber + " attempts");
+        ExecutorService resultWriter = writer;
+        if (resultWriter != null) {
+            pendingResults.add(new Result(System.currentTimeMillis(), won, attemptNumber, score));
+            int pending = pendingCount.getAndIncrement();
+            if (pending == 0) {
+                try {
+                    resultWriter.execute(this::writePending);
+                } catch (RejectedExecutionException e) {
+                    // Closed meanwhile; close() writes whatever it still finds queued
+                }
+            } else if (pending >= MAX_PENDING_RESULTS) {
+                // The disk is falling behind; write along instead of queueing without bound
+                writePending();
+            }
+        }
+    }
+
+    private LongAdder distributionCounter(int attemptNumber) {
+        return attemptDistribution.computeIfAbsent(attemptNumber, a -> new LongAdder());
+    }
+
+    /**
+     * Journals every queued result. Runs on the writer thread, or on a caller once too many results wait.
+     */
+    private void writePending() {
+        synchronized (writeLock) {
+            Result result;
+            while ((result = pendingResults.poll()) != null) {
+                pendingCount.decrementAndGet();
+                appendToJournal(result);
+            }
+        }
+    }
+
+    private void applySaved(boolean won, int attemptNumber, int score) {
+        savedPlayed++;
+        if (won) {
+            savedWon++;
+            savedScore += score;
+            savedDistribution.merge(attemptNumber, 1, Integer::sum);
         }
+    }
 
-        saveScores();
+    private void appendToJournal(Result result) {
+        if (journal == null) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            journal.append(result.timestampMillis, result.won, result.attemptNumber, result.score);
+            applySaved(result.won, result.attemptNumber, result.score);
+            if (journal.getRecordCount() >= SNAPSHOT_INTERVAL) {
+                saveScores();
+            }
+        } catch (IOException e) {
+            metrics.recordPersistenceError();
+            logger.error("Error appending to score journal", e);
+        }
+        metrics.recordPersistence(startNanos);
     }
 
     /**
-     * Saves the scores to file
+     * Compacts the current totals into a new snapshot generation and empties the journal.
+     * The snapshot is written to a temporary file and atomically moved into place, so a
+     * crash leaves either the old snapshot with its journal or the new one.
      */
     private void saveScores() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(SCORE_FILE_PATH))) {
-            oos.writeInt(totalScore);
-            oos.writeInt(gamesPlayed);
-            oos.writeInt(gamesWon);
-            oos.writeObject(attemptDistribution);
+        long generation = snapshotGeneration + 1;
+        Path target = scoreFile;
+        Path temp = scoreFile.resolveSibling(SCORE_FILE_NAME + ".tmp");
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeLong(generation);
+                out.writeInt(savedScore);
+                out.writeInt(savedPlayed);
+                out.writeInt(savedWon);
+                out.writeInt(savedDistribution.size());
+                for (Map.Entry<Integer, Integer> entry : savedDistribution.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+            }
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+
+            try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+                bytes.writeTo(out);
+                out.write(ByteBuffer.allocate(4).putInt((int) crc.getValue()).array());
+                out.getFD().sync();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            snapshotGeneration = generation;
+            if (journal != null) {
+                journal.reset(generation);
+            }
             logger.info("Scores saved successfully");
         } catch (IOException e) {
+            metrics.recordPersistenceError();
             logger.error("Error saving scores", e);
         }
     }
 
     /**
-     * Loads the scores from a file
+     * Loads the latest snapshot and replays the journal written after it
      */
-    @SuppressWarnings("unchecked")
     private void loadScores() {
-        File file = new File(SCORE_FILE_PATH);
+        File file = scoreFile.toFile();
         if (!file.exists()) {
             logger.info("No score file found. Starting with fresh scores.");
-            return;
+        } else {
+            loadSnapshot(file);
         }
 
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            totalScore = ois.readInt();
-            gamesPlayed = ois.readInt();
-            gamesWon = ois.readInt();
-            attemptDistribution = (Map<Integer, Integer>) ois.readObject();
+        try {
+            journal = new ScoreJournal(journalFile, COMMIT_INTERVAL_MILLIS);
+            if (journal.getGeneration() < snapshotGeneration) {
+                // The snapshot already contains these records
+                journal.reset(snapshotGeneration);
+            } else {
+                long replayed = journal.replay((timestamp, won, attemptNumber, score) -> applySaved(won, attemptNumber, score));
+                if (replayed > 0) {
+                    logger.info("Replayed {records} results from score journal", replayed);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Error opening score journal", e);
+            journal = null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadSnapshot(File file) {
+        try {
+            byte[] data = Files.readAllBytes(file.toPath());
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            if (data.length < 4 || in.readInt() != SNAPSHOT_MAGIC) {
+                // Score file written by an older version
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                    savedScore = ois.readInt();
+                    savedPlayed = ois.readInt();
+                    savedWon = ois.readInt();
+                    savedDistribution = (Map<Integer, Integer>) ois.readObject();
+                }
+                logger.info("Scores loaded successfully");
+                return;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length - 4);
+            int storedCrc = ByteBuffer.wrap(data, data.length - 4, 4).getInt();
+            if (storedCrc != (int) crc.getValue() || in.readInt() != SNAPSHOT_VERSION) {
+                logger.warn("Score snapshot is corrupt. Starting with fresh scores.");
+                return;
+            }
+
+            snapshotGeneration = in.readLong();
+            savedScore = in.readInt();
+            savedPlayed = in.readInt();
+            savedWon = in.readInt();
+            int entries = in.readInt();
+            Map<Integer, Integer> distribution = new HashMap<>();
+            for (int i = 0; i < entries; i++) {
+                distribution.put(in.readInt(), in.readInt());
+            }
+            savedDistribution = distribution;
             logger.info("Scores loaded successfully");
         } catch (IOException | ClassNotFoundException e) {
             logger.error("Error loading scores", e);
         }
     }
 
+    /**
+     * Writes the queued results, forces the journal to disk and releases the journal file.
+     * Results recorded after closing are counted but no longer persisted.
+     */
+    @Override
+    public void close() {
+        ExecutorService stopping = writer;
+        if (stopping != null) {
+            writer = null;
+            stopping.shutdown();
+            try {
+                stopping.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (writeLock) {
+            writePending();
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+        }
+    }
+
     // Getters
     public int getTotalScore() {
-        return totalScore;
+        return totalScore.intValue();
     }
 
     public int getGamesPlayed() {
-        return gamesPlayed;
+        return gamesPlayed.intValue();
     }
 
     public int getGamesWon() {
-        return gamesWon;
+        return gamesWon.intValue();
     }
 
+    /**
+     * @return A copy of the attempt number -> count of won games
+     */
     public Map<Integer, Integer> getAttemptDistribution() {
-        return attemptDistribution;
+        Map<Integer, Integer> distribution = new HashMap<>();
+        attemptDistribution.forEach((attempt, count) -> distribution.put(attempt, count.intValue()));
+        return distribution;
     }
 
     /**
@@ -129,9 +389,24 @@ public class ScoreManager {
      * @return Win percentage as a double between 0 and 100
      */
     public double getWinPercentage() {
-        if (gamesPlayed == 0) {
+        int played = getGamesPlayed();
+        if (played == 0) {
             return 0;
         }
-        return (double) gamesWon / gamesPlayed * 100;
+        return (double) getGamesWon() / played * 100;
+    }
+
+    private static final class Result {
+        private final long timestampMillis;
+        private final boolean won;
+        private final int attemptNumber;
+        private final int score;
+
+        Result(long timestampMillis, boolean won, int attemptNumber, int score) {
+            this.timestampMillis = timestampMillis;
+            this.won = won;
+            this.attemptNumber = attemptNumber;
+            this.score = score;
+        }
     }
 }
\ No newline at end of file
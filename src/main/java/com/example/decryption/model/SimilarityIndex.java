@@ -0,0 +1,87 @@
+package com.example.decryption.model;
+
+/**
+ * Inverted index of a {@link WordBucket} keyed on (position, letter).
+ * The posting list of a key holds every word with that letter at that position, so the
+ * words that share letters with a given word are found by walking its posting lists
+ * instead of comparing against the whole bucket.
+ */
+public final class SimilarityIndex {
+
+    private static final int ALPHABET = 256;
+
+    private final WordBucket bucket;
+    private final int[] offsets;
+    private final int[] postings;
+
+    private SimilarityIndex(WordBucket bucket, int[] offsets, int[] postings) {
+        this.bucket = bucket;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    /**
+     * Builds the index in two passes: count the size of every posting list, then fill them.
+     */
+    public static SimilarityIndex build(WordBucket bucket) {
+        int length = bucket.getWordLength();
+        int size = bucket.size();
+        int[] offsets = new int[length * ALPHABET + 1];
+
+        for (int w = 0; w < size; w++) {
+            for (int p = 0; p < length; p++) {
+                offsets[key(p, bucket.byteAt(w, p)) + 1]++;
+            }
+        }
+        for (int k = 1; k < offsets.length; k++) {
+            offsets[k] += offsets[k - 1];
+        }
+
+        int[] postings = new int[size * length];
+        int[] cursor = new int[length * ALPHABET];
+        System.arraycopy(offsets, 0, cursor, 0, cursor.length);
+        for (int w = 0; w < size; w++) {
+            for (int p = 0; p < length; p++) {
+                postings[cursor[key(p, bucket.byteAt(w, p))]++] = w;
+            }
+        }
+        return new SimilarityIndex(bucket, offsets, postings);
+    }
+
+    public WordBucket getBucket() {
+        return bucket;
+    }
+
+    /**
+     * Adds the match count of every word that shares at least one positional letter with
+     * the given word. Words that share nothing are not touched.
+     * @param counts Per-word counters, indexed like the bucket; must start at zero for touched words
+     * @param touched Receives each word index the first time its counter goes above zero
+     * @return Number of indices written to {@code touched}
+     */
+    public int accumulateMatches(int wordIndex, int[] counts, int[] touched) {
+        int touchedCount = 0;
+        for (int p = 0; p < bucket.getWordLength(); p++) {
+            int key = key(p, bucket.byteAt(wordIndex, p));
+            for (int i = offsets[key]; i < offsets[key + 1]; i++) {
+                int w = postings[i];
+                if (counts[w]++ == 0) {
+                    touched[touchedCount++] = w;
+                }
+            }
+        }
+        return touchedCount;
+    }
+
+    /**
+     * @return Number of words with the given letter at the given position
+     */
+    public int postingCount(int position, byte letter) {
+        int key = key(position, letter);
+        return offsets[key + 1] - offsets[key];
+    }
+
+    private static int key(int position, byte letter) {
+        return position * ALPHABET + (letter & 0xFF);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.decryption.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Narrows down the possible targets from the feedback received so far and suggests the
+ * guess that is expected to reveal the most information.
+ */
+public class SolverService {
+
+    private static final int GUESSES_PER_TASK = 128;
+    private static final long SCORE_SCALE = 1L << 20;
+
+    /**
+     * Finds the board words that are still consistent with every guess made so far.
+     * A word is consistent if each earlier guess would have received exactly the recorded feedback
+     * had that word been the target. Wrong guesses rule themselves out, because a word always
+     * matches itself in every position.
+     * @return Board indices of the remaining candidates
+     */
+    public int[] consistentCandidates(BoardAnalysis board, List<String> attemptedWords, List<Integer> feedbackScores) {
+        int n = board.size();
+        int historySize = Math.min(attemptedWords.size(), feedbackScores.size());
+        int[] guesses = new int[historySize];
+        for (int h = 0; h < historySize; h++) {
+            guesses[h] = board.indexOf(attemptedWords.get(h));
+        }
+
+        int[] candidates = new int[n];
+        int count = 0;
+        outer:
+        for (int c = 0; c < n; c++) {
+            for (int h = 0; h < historySize; h++) {
+                if (guesses[h] < 0 || board.feedback(guesses[h], c) != feedbackScores.get(h)) {
+                    continue outer;
+                }
+            }
+            candidates[count++] = c;
+        }
+        int[] result = new int[count];
+        System.arraycopy(candidates, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Suggests the next guess for a game in progress
+     */
+    public Hint suggest(BoardAnalysis board, List<String> attemptedWords, List<Integer> feedbackScores) {
+        int[] candidates = consistentCandidates(board, attemptedWords, feedbackScores);
+        if (candidates.length == 0) {
+            return new Hint(null, Collections.emptyList(), 0);
+        }
+
+        List<String> remaining = new ArrayList<>(candidates.length);
+        for (int c : candidates) {
+            remaining.add(board.getWords().get(c));
+        }
+        if (candidates.length == 1) {
+            return new Hint(remaining.get(0), remaining, 0);
+        }
+
+        boolean[] isCandidate = new boolean[board.size()];
+        for (int c : candidates) {
+            isCandidate[c] = true;
+        }
+
+        long best;
+        if (board.size() > BoardAnalysis.PARALLEL_THRESHOLD) {
+            best = ForkJoinPool.commonPool().invoke(new BestGuessTask(board, candidates, isCandidate, 0, board.size()));
+        } else {
+            best = bestGuess(board, candidates, isCandidate, 0, board.size());
+        }
+
+        int guess = unpackGuess(best);
+        return new Hint(board.getWords().get(guess), remaining, unpackScore(best) / (double) SCORE_SCALE);
+    }
+
+    /**
+     * Scans guesses [from, to) and returns the best one packed with its score, so results
+     * from parallel tasks combine with a plain max. Guesses that could still be the target
+     * win ties because they might end the game immediately.
+     */
+    private static long bestGuess(BoardAnalysis board, int[] candidates, boolean[] isCandidate, int from, int to) {
+        int[] bins = new int[maxFeedback(board) + 1];
+        long best = Long.MIN_VALUE;
+        for (int g = from; g < to; g++) {
+            Arrays.fill(bins, 0);
+            for (int c : candidates) {
+                bins[board.feedback(g, c)]++;
+            }
+
+            double entropy = 0;
+            double total = candidates.length;
+            for (int bin : bins) {
+                if (bin > 0) {
+                    double p = bin / total;
+                    entropy -= p * Math.log(p);
+                }
+            }
+            entropy /= Math.log(2);
+
+            long score = (long) (entropy * SCORE_SCALE);
+            long packed = (score << 22) | ((isCandidate[g] ? 1L : 0L) << 21) | (0x1FFFFF - g);
+            best = Math.max(best, packed);
+        }
+        return best;
+    }
+
+    private static int maxFeedback(BoardAnalysis board) {
+        int max = 0;
+        for (int i = 0; i < board.size(); i++) {
+            max = Math.max(max, board.feedback(i, i));
+        }
+        return max;
+    }
+
+    private static int unpackGuess(long packed) {
+        return 0x1FFFFF - (int) (packed & 0x1FFFFF);
+    }
+
+    private static long unpackScore(long packed) {
+        return packed >>> 22;
+    }
+
+    @SuppressWarnings("serial") // Never serialized; fork/join tasks only
+    private static final class BestGuessTask extends RecursiveTask<Long> {
+        private final BoardAnalysis board;
+        private final int[] candidates;
+        private final boolean[] isCandidate;
+        private final int from;
+        private final int to;
+
+        BestGuessTask(BoardAnalysis board, int[] candidates, boolean[] isCandidate, int from, int to) {
+            this.board = board;
+            this.candidates = candidates;
+            this.isCandidate = isCandidate;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= GUESSES_PER_TASK) {
+                return bestGuess(board, candidates, isCandidate, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            BestGuessTask left = new BestGuessTask(board, candidates, isCandidate, from, mid);
+            left.fork();
+            long right = new BestGuessTask(board, candidates, isCandidate, mid, to).compute();
+            return Math.max(left.join(), right);
+        }
+    }
+
+    /**
+     * Result of a hint request
+     */
+    public static class Hint {
+        private final String suggestedWord;
+        private final List<String> remainingCandidates;
+        private final double expectedInformationBits;
+
+        public Hint(String suggestedWord, List<String> remainingCandidates, double expectedInformationBits) {
+            this.suggestedWord = suggestedWord;
+            this.remainingCandidates = remainingCandidates;
+            this.expectedInformationBits = expectedInformationBits;
+        }
+
+        /**
+         * @return The recommended next guess, or null if no word fits the feedback
+         */
+        public String getSuggestedWord() {
+            return suggestedWord;
+        }
+
+        public List<String> getRemainingCandidates() {
+            return remainingCandidates;
+        }
+
+        /**
+         * @return Expected information gain of the suggested guess in bits
+         */
+        public double getExpectedInformationBits() {
+            return expectedInformationBits;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.example.decryption.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of words that all have the same length.
+ * Words are stored back to back as fixed-width single-byte records, either in a heap
+ * array or in a slice of a memory-mapped dictionary file, and are only turned into
+ * {@link String}s when asked for.
+ *
+ * <p>Membership lookups go through an open-addressing hash table of word indices, built on
+ * first use for mapped buckets and handed over by the {@link Builder} otherwise.
+ */
+public final class WordBucket {
+
+    private final int wordLength;
+    private final int size;
+    private final ByteBuffer records;
+    private volatile int[] hashTable;
+
+    private WordBucket(int wordLength, int size, ByteBuffer records, int[] hashTable) {
+        this.wordLength = wordLength;
+        this.size = size;
+        this.records = records;
+        this.hashTable = hashTable;
+    }
+
+    /**
+     * Wraps packed records. The buffer is read with absolute offsets starting at its position.
+     */
+    static WordBucket wrap(int wordLength, int size, ByteBuffer records) {
+        if ((long) wordLength * size > records.remaining()) {
+            throw new IllegalArgumentException("Buffer too small for " + size + " words of length " + wordLength);
+        }
+        return new WordBucket(wordLength, size, records.slice().asReadOnlyBuffer(), null);
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Decodes a word
+     */
+    public String get(int index) {
+        byte[] word = new byte[wordLength];
+        copyWord(index, word, 0);
+        return new String(word, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Gets a single character of a word without decoding it
+     */
+    public byte byteAt(int index, int position) {
+        return records.get(index * wordLength + position);
+    }
+
+    /**
+     * Copies the raw bytes of a word into an array
+     */
+    public void copyWord(int index, byte[] destination, int offset) {
+        checkIndex(index);
+        records.get(index * wordLength, destination, offset, wordLength);
+    }
+
+    /**
+     * Copies a range of packed records into an array
+     */
+    public void copyRecords(int fromIndex, int count, byte[] destination, int offset) {
+        records.get(fromIndex * wordLength, destination, offset, count * wordLength);
+    }
+
+    /**
+     * Finds a word by its raw bytes in expected constant time
+     * @return The index of the word, or -1
+     */
+    public int indexOf(byte[] word) {
+        if (word.length != wordLength || size == 0) {
+            return -1;
+        }
+        int[] table = hashTable;
+        if (table == null) {
+            // Racing threads build identical tables, so publishing either one is fine
+            table = buildHashTable();
+            hashTable = table;
+        }
+        int mask = table.length - 1;
+        for (int slot = hash(word, 0, wordLength) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            if (matches(table[slot] - 1, word)) {
+                return table[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(byte[] word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * Compares a word with raw bytes without decoding it
+     */
+    public boolean matches(int index, byte[] word) {
+        if (word.length != wordLength) {
+            return false;
+        }
+        int base = index * wordLength;
+        for (int p = 0; p < wordLength; p++) {
+            if (records.get(base + p) != word[p]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return A read-only view of the packed records, positioned at the first word
+     */
+    public ByteBuffer records() {
+        return records.duplicate();
+    }
+
+    /**
+     * @return The words as a lazily decoding list
+     */
+    public List<String> asList() {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return WordBucket.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int[] buildHashTable() {
+        int[] table = new int[tableCapacity(size)];
+        int mask = table.length - 1;
+        byte[] word = new byte[wordLength];
+        for (int i = 0; i < size; i++) {
+            copyWord(i, word, 0);
+            int slot = hash(word, 0, wordLength) & mask;
+            while (table[slot] != 0) {
+                if (matches(table[slot] - 1, word)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (table[slot] == 0) {
+                table[slot] = i + 1;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @return A power of two that keeps the load factor of a table at or below one half
+     */
+    private static int tableCapacity(int words) {
+        return Integer.highestOneBit(Math.max(2, words) * 2 - 1) << 1;
+    }
+
+    /**
+     * FNV-1a over the bytes of a word, with the high bits folded in for power-of-two tables
+     */
+    static int hash(byte[] source, int offset, int length) {
+        int h = 0x811C9DC5;
+        for (int i = offset; i < offset + length; i++) {
+            h = (h ^ (source[i] & 0xFF)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for bucket of size " + size);
+        }
+    }
+
+    /**
+     * Encodes a word as one byte per character.
+     * @return The encoded word, or null if it contains characters outside ISO-8859-1
+     */
+    public static byte[] encode(String word) {
+        byte[] bytes = new byte[word.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            char c = word.charAt(i);
+            if (c > 0xFF) {
+                return null;
+            }
+            bytes[i] = (byte) c;
+        }
+        return bytes;
+    }
+
+    /**
+     * Accumulates fixed-width records for one word length
+     */
+    public static final class Builder {
+        private final int wordLength;
+        private byte[] data;
+        private int size;
+        private int[] table;
+
+        public Builder(int wordLength) {
+            this(wordLength, 64);
+        }
+
+        public Builder(int wordLength, int expectedSize) {
+            this.wordLength = wordLength;
+            this.data = new byte[Math.max(1, expectedSize) * wordLength];
+            this.table = new int[tableCapacity(expectedSize)];
+        }
+
+        /**
+         * Starts with all words of an existing bucket
+         */
+        public Builder(WordBucket bucket, int extraCapacity) {
+            this(bucket.wordLength, bucket.size + extraCapacity);
+            bucket.copyRecords(0, bucket.size, data, 0);
+            for (int i = 0; i < bucket.size; i++) {
+                insert(i);
+            }
+            size = bucket.size;
+        }
+
+        /**
+         * Adds an encoded word
+         */
+        public void add(byte[] word) {
+            add(word, 0);
+        }
+
+        /**
+         * Adds a word stored at an offset of a larger array
+         */
+        public void add(byte[] source, int offset) {
+            if (source.length - offset < wordLength) {
+                throw new IllegalArgumentException("Word shorter than bucket length " + wordLength);
+            }
+            ensureCapacity(size + 1);
+            System.arraycopy(source, offset, data, size * wordLength, wordLength);
+            insert(size);
+            size++;
+        }
+
+        /**
+         * Adds a word stored at an offset of a larger array unless it is already present
+         * @return Whether the word was added
+         */
+        public boolean addIfAbsent(byte[] source, int offset) {
+            if (source.length - offset < wordLength) {
+                throw new IllegalArgumentException("Word shorter than bucket length " + wordLength);
+            }
+            if (find(source, offset) >= 0) {
+                return false;
+            }
+            add(source, offset);
+            return true;
+        }
+
+        /**
+         * Adds all words of another builder that are not present yet
+         * @return Number of words added
+         */
+        public int addAllAbsent(Builder other) {
+            if (other.wordLength != wordLength) {
+                throw new IllegalArgumentException("Cannot merge words of length " + other.wordLength
+                        + " into bucket of length " + wordLength);
+            }
+            int added = 0;
+            for (int i = 0; i < other.size; i++) {
+                if (addIfAbsent(other.data, i * wordLength)) {
+                    added++;
+                }
+            }
+            return added;
+        }
+
+        /**
+         * Checks in expected constant time whether a word has already been added
+         */
+        public boolean contains(byte[] word) {
+            return word.length == wordLength && find(word, 0) >= 0;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int getWordLength() {
+            return wordLength;
+        }
+
+        public WordBucket build() {
+            byte[] packed = Arrays.copyOf(data, size * wordLength);
+            return new WordBucket(wordLength, size, ByteBuffer.wrap(packed).asReadOnlyBuffer(), table.clone());
+        }
+
+        private int find(byte[] source, int offset) {
+            int mask = table.length - 1;
+            for (int slot = hash(source, offset, wordLength) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                int base = (table[slot] - 1) * wordLength;
+                if (Arrays.equals(data, base, base + wordLength, source, offset, offset + wordLength)) {
+                    return table[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Indexes the word stored at a record slot. Duplicates keep pointing at the first copy.
+         */
+        private void insert(int index) {
+            if ((index + 1) * 2 > table.length) {
+                rehash(tableCapacity(index + 1));
+            }
+            int offset = index * wordLength;
+            int mask = table.length - 1;
+            int slot = hash(data, offset, wordLength) & mask;
+            while (table[slot] != 0) {
+                int base = (table[slot] - 1) * wordLength;
+                if (Arrays.equals(data, base, base + wordLength, data, offset, offset + wordLength)) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = index + 1;
+        }
+
+        private void rehash(int capacity) {
+            int[] old = table;
+            table = new int[capacity];
+            int mask = capacity - 1;
+            for (int entry : old) {
+                if (entry != 0) {
+                    int slot = hash(data, (entry - 1) * wordLength, wordLength) & mask;
+                    while (table[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    table[slot] = entry;
+                }
+            }
+        }
+
+        private void ensureCapacity(int words) {
+            if ((long) words * wordLength > data.length) {
+                long grown = Math.max((long) words * wordLength, (long) data.length * 2);
+                if (grown > Integer.MAX_VALUE - 8) {
+                    throw new IllegalStateException("Word bucket of length " + wordLength + " is full");
+                }
+                data = Arrays.copyOf(data, (int) grown);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.decryption.model;
+
+import com.example.decryption.util.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Parses word list files of any size, one word per line, into per-length builders.
+ *
+ * <p>Files are memory-mapped in chunks whose boundaries are moved to the next line break, and
+ * the chunks are parsed in parallel, each into its own deduplicated builders. The results are
+ * returned in file order so merging them keeps the first occurrence of every word.
+ */
+final class WordImporter {
+
+    private static final Logger logger = new Logger("WordImporter");
+    static final int CHUNK_BYTES = 4 << 20;
+
+    private final AtomicLong skippedWords = new AtomicLong();
+
+    /**
+     * Parses a file, or every {@code .txt} file of a directory in name order
+     * @return Builders of each chunk, in file order
+     */
+    List<Map<Integer, WordBucket.Builder>> parse(Path source) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                for (Path file : files.filter(f -> f.toString().endsWith(".txt")).sorted().collect(Collectors.toList())) {
+                    split(file, chunks);
+                }
+            }
+        } else {
+            split(source, chunks);
+        }
+
+        List<Map<Integer, WordBucket.Builder>> parsed;
+        try {
+            parsed = chunks.parallelStream().map(this::parseChunk).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (skippedWords.get() > 0) {
+            logger.warn("Skipped {words} words with unsupported characters in {source}", skippedWords.get(), source);
+        }
+        return parsed;
+    }
+
+    /**
+     * Cuts a file into chunks that start right after a line break
+     */
+    private static void split(Path file, List<Chunk> chunks) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long end = Math.min(size, start + CHUNK_BYTES);
+                if (end < size) {
+                    end = nextLineStart(channel, end, size);
+                }
+                chunks.add(new Chunk(file, start, end - start));
+                start = end;
+            }
+        }
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(256);
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private Map<Integer, WordBucket.Builder> parseChunk(Chunk chunk) {
+        Map<Integer, WordBucket.Builder> builders = new TreeMap<>();
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(chunk.file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk.offset, chunk.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] word = new byte[64];
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            boolean ascii = true;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                ascii &= buffer.get(lineEnd) >= 0;
+                lineEnd++;
+            }
+
+            int from = lineStart;
+            int to = lineEnd;
+            while (from < to && isSpace(buffer.get(from))) from++;
+            while (to > from && isSpace(buffer.get(to - 1))) to--;
+
+            if (to > from) {
+                byte[] encoded;
+                int length = to - from;
+                if (ascii) {
+                    if (word.length < length) {
+                        word = new byte[length];
+                    }
+                    for (int i = 0; i < length; i++) {
+                        byte b = buffer.get(from + i);
+                        word[i] = b >= 'a' && b <= 'z' ? (byte) (b - 32) : b;
+                    }
+                    encoded = word;
+                } else {
+                    byte[] raw = new byte[length];
+                    buffer.get(from, raw);
+                    encoded = WordBucket.encode(new String(raw, StandardCharsets.UTF_8).toUpperCase());
+                    length = encoded == null ? 0 : encoded.length;
+                }
+
+                if (encoded == null) {
+                    skippedWords.incrementAndGet();
+                } else {
+                    builders.computeIfAbsent(length, WordBucket.Builder::new).addIfAbsent(encoded, 0);
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return builders;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static final class Chunk {
+        private final Path file;
+        private final long offset;
+        private final long length;
+
+        Chunk(Path file, long offset, long length) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -1,133 +1,584 @@
 package com.example.decryption.model;
 
+import com.example.decryption.util.GameMetrics;
 import com.example.decryption.util.Logger;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Provides word lists for the game.
  * This class is responsible for loading and managing the daily word lists.
+ *
+ * <p>Words are kept in one {@link WordBucket} per word length. The buckets are either parsed
+ * from the bundled text word lists or mapped straight from a precompiled
+ * {@link BinaryDictionary}; set {@value #DICTIONARY_PROPERTY} to use a dictionary file, or
+ * {@value #WORDLIST_DIR_PROPERTY} to load and watch a directory of {@code .txt} word lists.
+ *
+ * <p>The bundled word lists are parsed in parallel, one task per length. {@link #loadAsync()}
+ * returns before they are done; a board drawn meanwhile waits only for the bucket of the length
+ * it picks, and everything that needs the whole dictionary waits for the rest.
+ *
+ * <p>The buckets are published as an immutable snapshot. Every change builds a new snapshot and
+ * swaps it in, so readers never lock and boards already handed out are unaffected.
  */
 public class WordListProvider {
 
+    public static final String DICTIONARY_PROPERTY = "decryption.dictionary";
+    public static final String WORDLIST_DIR_PROPERTY = "decryption.wordlists.dir";
+
     private static final Logger logger = new Logger("WordListProvider");
     private static final String WORDLIST_FOLDER = "/wordlists/";
     private static final int MIN_WORD_LENGTH = 3;
     private static final int MAX_WORD_LENGTH = 14;
     private static final int DAILY_WORD_COUNT = 8;
+    private static final int DAILY_CACHE_SIZE = 64;
+
+    private final Map<LocalDate, List<String>> dailyWordLists = Collections.synchronizedMap(new DailyCache());
+    private volatile Map<Integer, WordBucket> wordsByLength = Collections.emptyMap();
+    private final BoardGenerator boardGenerator = new BoardGenerator();
+    private WordListWatcher watcher;
 
-    private final Random random = new Random();
-    private List<String> allWords;
-    private Map<LocalDate, List<String>> dailyWordLists;
-    private final Map<Integer, List<String>> wordsByLength = new HashMap<>();
+    // Publication of each bundled word list by length while loading, null once everything is published
+    private volatile Map<Integer, CompletableFuture<Void>> loading;
+    private volatile CompletableFuture<Void> loaded = CompletableFuture.completedFuture(null);
 
+    /**
+     * Loads the word lists and waits until all of them are available
+     */
     public WordListProvider() {
-        this.allWords = new ArrayList<>();
-        this.dailyWordLists = new HashMap<>();
-        loadWordListsByLength();
+        this(true);
+    }
+
+    private WordListProvider(boolean waitForWords) {
+        long startNanos = System.nanoTime();
+        String directory = System.getProperty(WORDLIST_DIR_PROPERTY);
+        String dictionary = System.getProperty(DICTIONARY_PROPERTY);
+        if (directory != null && reload(Paths.get(directory))) {
+            watchDirectory(Paths.get(directory));
+            GameMetrics.getInstance().recordWordListLoad(startNanos);
+        } else if (dictionary != null && loadBinaryDictionary(Paths.get(dictionary))) {
+            GameMetrics.getInstance().recordWordListLoad(startNanos);
+        } else {
+            loadWordListsInParallel(startNanos);
+            if (waitForWords) {
+                awaitLoaded();
+            }
+        }
+    }
+
+    private WordListProvider(Map<Integer, WordBucket> buckets) {
+        this.wordsByLength = snapshot(buckets);
+    }
+
+    /**
+     * Starts loading the word lists in the background and returns at once
+     */
+    public static WordListProvider loadAsync() {
+        return new WordListProvider(false);
+    }
+
+    /**
+     * Blocks until every word list has been loaded
+     */
+    public void awaitLoaded() {
+        loaded.join();
+    }
+
+    public boolean isLoaded() {
+        return loaded.isDone();
+    }
+
+    /**
+     * Creates a provider backed by a memory-mapped binary dictionary
+     */
+    public static WordListProvider fromBinaryDictionary(Path dictionaryFile) throws IOException {
+        long startNanos = System.nanoTime();
+        WordListProvider provider = new WordListProvider(BinaryDictionary.open(dictionaryFile));
+        logger.info("Mapped {words} words from {file}", provider.getWordCount(), dictionaryFile);
+        GameMetrics.getInstance().recordWordListLoad(startNanos);
+        return provider;
+    }
+
+    /**
+     * Creates a provider from every {@code .txt} word list in a directory.
+     * Words are grouped by their own length, one word per line.
+     */
+    public static WordListProvider fromDirectory(Path directory) throws IOException {
+        WordListProvider provider = new WordListProvider(Collections.emptyMap());
+        provider.importWords(directory);
+        return provider;
+    }
+
+    private boolean loadBinaryDictionary(Path dictionaryFile) {
+        try {
+            wordsByLength = snapshot(BinaryDictionary.open(dictionaryFile));
+            logger.info("Mapped {words} words from {file}", getWordCount(), dictionaryFile);
+            return true;
+        } catch (IOException e) {
+            logger.error("Error mapping dictionary " + dictionaryFile + ", falling back to bundled word lists", e);
+            return false;
+        }
     }
 
-    private void loadWordListsByLength() {
+    /**
+     * Parses and builds each bundled word list on the common pool and publishes its buckets as soon as they are built
+     */
+    private void loadWordListsInParallel(long startNanos) {
+        Map<Integer, CompletableFuture<Void>> tasks = new TreeMap<>();
         for (int length = MIN_WORD_LENGTH; length <= MAX_WORD_LENGTH; length++) {
             String fileName = WORDLIST_FOLDER + "wordslength" + length + ".txt";
-            try (InputStream is = getClass().getResourceAsStream(fileName)) {
-                if (is == null) {
-                    logger.warn("Word list file not found: " + fileName);
+            tasks.put(length, CompletableFuture.supplyAsync(() -> buildAll(readResource(fileName)))
+                    .thenAccept(this::publishLoaded));
+        }
+        loading = Collections.unmodifiableMap(tasks);
+
+        loaded = CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[0])).whenComplete((ignored, e) -> {
+            loading = null;
+            if (e != null) {
+                logger.error("Error publishing word lists", e instanceof Exception ? (Exception) e : new RuntimeException(e));
+            }
+            logger.info("Total words loaded: {words} in {millis} ms", getWordCount(),
+                    (System.nanoTime() - startNanos) / 1_000_000);
+            GameMetrics.getInstance().recordWordListLoad(startNanos);
+        });
+    }
+
+    private Map<Integer, WordBucket.Builder> readResource(String fileName) {
+        Map<Integer, WordBucket.Builder> builders = new TreeMap<>();
+        try (InputStream is = getClass().getResourceAsStream(fileName)) {
+            if (is == null) {
+                logger.warn("Word list file not found: {file}", fileName);
+                return builders;
+            }
+
+            readWords(is, builders);
+
+            logger.info("Loaded words from {file}", fileName);
+        } catch (IOException e) {
+            logger.error("Error loading word list from " + fileName, e);
+        }
+        return builders;
+    }
+
+    private static void readWords(InputStream is, Map<Integer, WordBucket.Builder> builders) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim().toUpperCase();
+                if (line.isEmpty()) {
                     continue;
                 }
-
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) {
-                        line = line.trim().toUpperCase();
-                        if (!line.isEmpty()) {
-                            allWords.add(line);
-                            wordsByLength.putIfAbsent(length, new ArrayList<>());
-                            wordsByLength.get(length).add(line);
-                        }
-                    }
+                byte[] word = WordBucket.encode(line);
+                if (word == null) {
+                    logger.warn("Skipping word with unsupported characters: {word}", line);
+                    continue;
                 }
+                builders.computeIfAbsent(word.length, WordBucket.Builder::new).addIfAbsent(word, 0);
+            }
+        }
+    }
+
+    private static Map<Integer, WordBucket> buildAll(Map<Integer, WordBucket.Builder> builders) {
+        Map<Integer, WordBucket> buckets = new TreeMap<>();
+        for (Map.Entry<Integer, WordBucket.Builder> entry : builders.entrySet()) {
+            buckets.put(entry.getKey(), entry.getValue().build());
+        }
+        return buckets;
+    }
+
+    /**
+     * @return The current immutable snapshot of word buckets keyed by word length
+     */
+    public Map<Integer, WordBucket> getBuckets() {
+        return wordsByLength;
+    }
+
+    private static Map<Integer, WordBucket> snapshot(Map<Integer, WordBucket> buckets) {
+        return Collections.unmodifiableMap(new TreeMap<>(buckets));
+    }
+
+    /**
+     * Swaps in a new snapshot; callers hold this monitor. Daily boards are indices into the dictionary, so they are dropped.
+     */
+    private void publish(Map<Integer, WordBucket> buckets) {
+        wordsByLength = snapshot(buckets);
+        dailyWordLists.clear();
+    }
+
+    /**
+     * Publishes the buckets of one bundled word list as built, so every board drawn from a length
+     * shares one bucket. A length that another list has filled already is merged instead.
+     */
+    private synchronized void publishLoaded(Map<Integer, WordBucket> buckets) {
+        Map<Integer, WordBucket> updated = new TreeMap<>(wordsByLength);
+        Map<Integer, WordBucket.Builder> overlapping = new TreeMap<>();
+        for (Map.Entry<Integer, WordBucket> entry : buckets.entrySet()) {
+            if (updated.putIfAbsent(entry.getKey(), entry.getValue()) != null) {
+                overlapping.put(entry.getKey(), new WordBucket.Builder(entry.getValue(), 0));
+            }
+        }
+        publish(updated);
+        if (!overlapping.isEmpty()) {
+            merge(Collections.singletonList(overlapping));
+        }
+    }
 
-                logger.info("Loaded words from " + fileName);
-            } catch (IOException e) {
-                logger.error("Error loading word list from " + fileName, e);
+    /**
+     * Replaces the dictionary with the {@code .txt} word lists of a directory.
+     * The new buckets are built aside and swapped in at once; an empty or unreadable directory
+     * leaves the current words in place.
+     * @return Whether the dictionary was replaced
+     */
+    public boolean reload(Path directory) {
+        long startNanos = System.nanoTime();
+        Map<Integer, WordBucket.Builder> builders = new TreeMap<>();
+        try {
+            for (Map<Integer, WordBucket.Builder> part : new WordImporter().parse(directory)) {
+                for (Map.Entry<Integer, WordBucket.Builder> entry : part.entrySet()) {
+                    builders.computeIfAbsent(entry.getKey(), WordBucket.Builder::new).addAllAbsent(entry.getValue());
+                }
             }
+        } catch (IOException e) {
+            logger.error("Error reloading word lists from " + directory, e);
+            return false;
+        }
+        if (builders.isEmpty()) {
+            logger.warn("No words found in {directory}, keeping the current word lists", directory);
+            return false;
         }
 
-        logger.info("Total words loaded: " + allWords.size());
+        Map<Integer, WordBucket> buckets = buildAll(builders);
+        // A reload replaces the bundled words, so let them finish loading first
+        awaitLoaded();
+        synchronized (this) {
+            publish(buckets);
+        }
+        logger.info("Loaded {words} words from {directory} in {millis} ms", getWordCount(), directory,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Reloads the dictionary in the background whenever the word lists of a directory change
+     */
+    public synchronized void watchDirectory(Path directory) {
+        if (watcher != null) {
+            throw new IllegalStateException("Already watching " + watcher.getDirectory());
+        }
+        try {
+            watcher = new WordListWatcher(this, directory);
+            watcher.start();
+            logger.info("Watching {directory} for word list changes", directory);
+        } catch (IOException e) {
+            watcher = null;
+            logger.error("Error watching word list directory " + directory, e);
+        }
+    }
+
+    /**
+     * Stops watching the word list directory, if any
+     */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    /**
+     * @return Total number of words across all lengths
+     */
+    public int getWordCount() {
+        return countWords(wordsByLength);
+    }
+
+    private static int countWords(Map<Integer, WordBucket> buckets) {
+        int count = 0;
+        for (WordBucket bucket : buckets.values()) {
+            count += bucket.size();
+        }
+        return count;
     }
 
     public List<String> getDailyWordList() {
-        LocalDate today = LocalDate.now();
-        if (!dailyWordLists.containsKey(today)) {
-            generateDailyWordList(today);
+        return getDailyWordList(LocalDate.now());
+    }
+
+    /**
+     * Gets the board of a given day, generating it on first use.
+     * Boards are kept in a bounded LRU cache; evicted days are simply generated again.
+     */
+    public List<String> getDailyWordList(LocalDate date) {
+        List<String> board = dailyWordLists.get(date);
+        if (board == null) {
+            awaitLoaded();
+            Map<Integer, WordBucket> buckets = wordsByLength;
+            board = generateDailyWordList(buckets, date);
+            // A board built from a snapshot that was replaced meanwhile is returned but not cached.
+            // Snapshots are only published under this monitor, so none can be swapped in between.
+            synchronized (this) {
+                if (buckets == wordsByLength) {
+                    dailyWordLists.put(date, board);
+                }
+            }
+            logger.info("Generated daily word list for {date} with {words} words", date, board.size());
         }
-        return dailyWordLists.get(today);
+        return board;
     }
 
-    private void generateDailyWordList(LocalDate date) {
-        Random seededRandom = new Random(date.toEpochDay());
-        List<String> shuffledWords = new ArrayList<>(allWords);
-        Collections.shuffle(shuffledWords, seededRandom);
+    /**
+     * Generates the boards of the next days on a background thread, so the first request of
+     * each day finds its board in the cache
+     * @param days Number of days to prepare, starting today; capped by the cache size
+     */
+    public void precomputeDailyWordLists(int days) {
+        int count = Math.min(days, DAILY_CACHE_SIZE);
+        if (count <= 0) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        Thread thread = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                getDailyWordList(today.plusDays(i));
+            }
+            logger.debug("Precomputed daily word lists for {days} days", count);
+        }, "daily-word-lists");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
 
-        List<String> selectedWords = shuffledWords.subList(0, Math.min(DAILY_WORD_COUNT, shuffledWords.size()));
-        if (selectedWords.size() < DAILY_WORD_COUNT) {
+    /**
+     * Picks the board of a date from the whole dictionary in O(k).
+     * Board indices are drawn over all words in length order with a {@link Random} seeded by the
+     * date, whose sequence is fixed by its specification, so every node with the same dictionary
+     * produces the same board without copying or shuffling the word list.
+     */
+    private static List<String> generateDailyWordList(Map<Integer, WordBucket> buckets, LocalDate date) {
+        int total = countWords(buckets);
+        int available = Math.min(DAILY_WORD_COUNT, total);
+        if (available < DAILY_WORD_COUNT) {
             logger.warn("Not enough words to fill 8. Padding with placeholders.");
-            while (selectedWords.size() < DAILY_WORD_COUNT) {
-                selectedWords.add("PLACEHOLDER");
-            }
         }
 
-        dailyWordLists.put(date, selectedWords);
-        logger.info("Generated daily word list for " + date + " with " + selectedWords.size() + " words");
+        int[] indices = new int[available];
+        WordSampler.sampleDistinct(total, available, new Random(date.toEpochDay()), indices);
+
+        String[] board = new String[DAILY_WORD_COUNT];
+        for (int i = 0; i < available; i++) {
+            board[i] = wordAt(buckets, indices[i]);
+        }
+        Arrays.fill(board, available, DAILY_WORD_COUNT, "PLACEHOLDER");
+        return List.of(board);
+    }
+
+    /**
+     * Resolves an index over all words, counting through the buckets in length order
+     */
+    private static String wordAt(Map<Integer, WordBucket> buckets, int index) {
+        for (WordBucket bucket : buckets.values()) {
+            if (index < bucket.size()) {
+                return bucket.get(index);
+            }
+            index -= bucket.size();
+        }
+        throw new IndexOutOfBoundsException("Word index out of range: " + index);
     }
 
+    /**
+     * Draws 8 distinct words of one randomly chosen length.
+     * Sampling picks indices straight from the length bucket, so the cost does not grow with the dictionary.
+     */
     public List<String> generateFreshWordList() {
-        if (wordsByLength.isEmpty()) return Collections.emptyList();
+        RandomGenerator random = ThreadLocalRandom.current();
+        WordBucket bucket = chooseBucket(random);
+        if (bucket == null) return Collections.emptyList();
 
-        List<Integer> lengths = new ArrayList<>(wordsByLength.keySet());
-        int chosenLength = lengths.get(random.nextInt(lengths.size()));
-        List<String> wordPool = new ArrayList<>(wordsByLength.getOrDefault(chosenLength, Collections.emptyList()));
+        if (bucket.size() < DAILY_WORD_COUNT) {
+            logger.warn("Not enough fresh words to fill 8. Padding with placeholders.");
+        }
+        return WordSampler.sampleBoard(bucket, DAILY_WORD_COUNT, random, "PLACEHOLDER");
+    }
 
-        Collections.shuffle(wordPool, random);
-        List<String> selected = wordPool.subList(0, Math.min(DAILY_WORD_COUNT, wordPool.size()));
+    /**
+     * Draws 8 words of one randomly chosen length whose mutual similarity matches a difficulty.
+     * Falls back to a random board when the chosen bucket has no board in the difficulty band.
+     * @param difficulty Target difficulty, or null for a purely random board
+     */
+    public List<String> generateFreshWordList(Difficulty difficulty) {
+        if (difficulty == null) return generateFreshWordList();
 
-        if (selected.size() < DAILY_WORD_COUNT) {
-            logger.warn("Not enough fresh words to fill 8. Padding with placeholders.");
-            while (selected.size() < DAILY_WORD_COUNT) {
-                selected.add("PLACEHOLDER");
+        RandomGenerator random = ThreadLocalRandom.current();
+        WordBucket bucket = chooseBucket(random);
+        if (bucket == null) return Collections.emptyList();
+
+        List<String> board = boardGenerator.generate(bucket, difficulty, DAILY_WORD_COUNT, random);
+        if (board == null) {
+            logger.debug("No {difficulty} board found for length {length}, using a random board", difficulty, bucket.getWordLength());
+            return WordSampler.sampleBoard(bucket, DAILY_WORD_COUNT, random, "PLACEHOLDER");
+        }
+        return board;
+    }
+
+    /**
+     * Generates many fresh boards in one call, for pre-generation and simulations
+     * @param count Number of boards to generate
+     */
+    public List<List<String>> generateFreshWordLists(int count) {
+        awaitLoaded();
+        Map<Integer, WordBucket> buckets = wordsByLength;
+        if (buckets.isEmpty()) return Collections.emptyList();
+
+        RandomGenerator random = ThreadLocalRandom.current();
+        List<List<String>> boards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boards.add(WordSampler.sampleBoard(chooseBucket(buckets, random), DAILY_WORD_COUNT, random, "PLACEHOLDER"));
+        }
+        return boards;
+    }
+
+    /**
+     * Picks a bucket of a random length. While the word lists are loading, this waits only for
+     * the bucket of the picked length, so every length stays equally likely.
+     * @return The bucket, or null if there are no words
+     */
+    private WordBucket chooseBucket(RandomGenerator random) {
+        Map<Integer, CompletableFuture<Void>> pending = loading;
+        if (pending != null) {
+            int chosen = random.nextInt(pending.size());
+            for (Map.Entry<Integer, CompletableFuture<Void>> entry : pending.entrySet()) {
+                if (chosen-- > 0) {
+                    continue;
+                }
+                entry.getValue().join();
+                WordBucket published = wordsByLength.get(entry.getKey());
+                if (published != null) {
+                    return published;
+                }
+                break;
             }
+            // The picked length has no words, so pick from everything once it is loaded
+            awaitLoaded();
         }
 
-        return selected;
+        Map<Integer, WordBucket> buckets = wordsByLength;
+        return buckets.isEmpty() ? null : chooseBucket(buckets, random);
+    }
+
+    private static WordBucket chooseBucket(Map<Integer, WordBucket> buckets, RandomGenerator random) {
+        int chosen = random.nextInt(buckets.size());
+        for (WordBucket bucket : buckets.values()) {
+            if (chosen-- == 0) {
+                return bucket;
+            }
+        }
+        throw new IllegalStateException("Snapshot has fewer buckets than its size");
     }
 
     public String selectTargetWord(List<String> wordList) {
         if (wordList == null || wordList.isEmpty()) {
             return "";
         }
-        return wordList.get(random.nextInt(wordList.size()));
+        return wordList.get(ThreadLocalRandom.current().nextInt(wordList.size()));
     }
 
-    public void addCustomWords(List<String> words) {
-        if (words == null || words.isEmpty()) return;
+    /**
+     * Adds words that are not in the dictionary yet
+     * @return Number of words actually added
+     */
+    public int addCustomWords(List<String> words) {
+        if (words == null || words.isEmpty()) return 0;
 
+        Map<Integer, WordBucket.Builder> builders = new TreeMap<>();
         for (String word : words) {
-            String upper = word.toUpperCase();
-            if (!allWords.contains(upper)) {
-                allWords.add(upper);
+            byte[] encoded = WordBucket.encode(word.trim().toUpperCase());
+            if (encoded == null || encoded.length == 0) {
+                logger.warn("Skipping unsupported custom word: {word}", word);
+                continue;
+            }
+            builders.computeIfAbsent(encoded.length, WordBucket.Builder::new).addIfAbsent(encoded, 0);
+        }
+
+        awaitLoaded();
+        int added = merge(Collections.singletonList(builders));
+        logger.info("Added {added} of {words} custom words to the word list", added, words.size());
+        return added;
+    }
 
-                int len = upper.length();
-                wordsByLength.putIfAbsent(len, new ArrayList<>());
-                wordsByLength.get(len).add(upper);
+    /**
+     * Streams a word list file, or every {@code .txt} file in a directory, into the dictionary.
+     * Files are parsed in parallel chunks; words already present are skipped.
+     * @return Number of words actually added
+     */
+    public int importWords(Path source) throws IOException {
+        long startNanos = System.nanoTime();
+        List<Map<Integer, WordBucket.Builder>> parts = new WordImporter().parse(source);
+        awaitLoaded();
+        int added = merge(parts);
+        logger.info("Imported {added} new words from {source} in {millis} ms", added, source,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return added;
+    }
+
+    /**
+     * Merges parsed words into the buckets in order, keeping the first occurrence of each word.
+     * Each affected bucket is copied once and rebuilt once, whatever the number of words.
+     */
+    private synchronized int merge(List<Map<Integer, WordBucket.Builder>> parts) {
+        Map<Integer, WordBucket> current = wordsByLength;
+        Map<Integer, Integer> incoming = new TreeMap<>();
+        for (Map<Integer, WordBucket.Builder> part : parts) {
+            for (Map.Entry<Integer, WordBucket.Builder> entry : part.entrySet()) {
+                incoming.merge(entry.getKey(), entry.getValue().size(), Integer::sum);
+            }
+        }
+
+        Map<Integer, WordBucket.Builder> merged = new TreeMap<>();
+        for (Map.Entry<Integer, Integer> entry : incoming.entrySet()) {
+            WordBucket existing = current.get(entry.getKey());
+            merged.put(entry.getKey(), existing != null
+                    ? new WordBucket.Builder(existing, entry.getValue())
+                    : new WordBucket.Builder(entry.getKey(), entry.getValue()));
+        }
+
+        int added = 0;
+        for (Map<Integer, WordBucket.Builder> part : parts) {
+            for (Map.Entry<Integer, WordBucket.Builder> entry : part.entrySet()) {
+                added += merged.get(entry.getKey()).addAllAbsent(entry.getValue());
             }
         }
+        if (added == 0) {
+            return 0;
+        }
+
+        Map<Integer, WordBucket> updated = new TreeMap<>(current);
+        updated.putAll(buildAll(merged));
+        publish(updated);
+        return added;
+    }
+
+    private static final class DailyCache extends LinkedHashMap<LocalDate, List<String>> {
+        private static final long serialVersionUID = 1L;
 
-        logger.info("Added " + words.size() + " custom words to the word list");
+        DailyCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<LocalDate, List<String>> eldest) {
+            return size() > DAILY_CACHE_SIZE;
+        }
     }
 }
@@ -0,0 +1,94 @@
+package com.example.decryption.model;
+
+import com.example.decryption.util.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a word list directory and reloads a {@link WordListProvider} when its {@code .txt}
+ * files change. Bursts of events, such as an editor saving a file in several steps, are
+ * collapsed into one reload once the directory has been quiet for {@value #QUIET_MILLIS} ms.
+ * Reloads run on the watcher's own daemon thread.
+ */
+class WordListWatcher implements AutoCloseable {
+
+    private static final Logger logger = new Logger("WordListWatcher");
+    static final long QUIET_MILLIS = 250;
+
+    private final WordListProvider provider;
+    private final Path directory;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    WordListWatcher(WordListProvider provider, Path directory) throws IOException {
+        this.provider = provider;
+        this.directory = directory;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = new Thread(this::run, "wordlist-watcher");
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                if (!drain(watchService.take())) {
+                    continue;
+                }
+                // Wait until no more events arrive for a while
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(key);
+                }
+                logger.info("Word lists in {directory} changed, reloading", directory);
+                provider.reload(directory);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Stopped watching {directory}", directory);
+        }
+    }
+
+    /**
+     * Consumes the events of a key
+     * @return Whether any of them concern a word list
+     */
+    private static boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || context instanceof Path && context.toString().endsWith(".txt")) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.error("Error closing watch service for " + directory, e);
+        }
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.decryption.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws boards of distinct words straight from a {@link WordBucket}.
+ * Sampling costs O(k) random draws regardless of the bucket size and does not copy the bucket.
+ */
+public final class WordSampler {
+
+    private WordSampler() {
+    }
+
+    /**
+     * Picks k distinct indices from [0, n) in random order using Floyd's algorithm.
+     * The duplicate check is a scan of the picks so far, which is cheaper than hashing for board-sized k.
+     * @param out Receives the indices; must hold at least k elements
+     */
+    public static void sampleDistinct(int n, int k, RandomGenerator random, int[] out) {
+        if (k > n) {
+            throw new IllegalArgumentException("Cannot pick " + k + " distinct indices from " + n);
+        }
+
+        int picked = 0;
+        for (int j = n - k; j < n; j++) {
+            int candidate = random.nextInt(j + 1);
+            if (contains(out, picked, candidate)) {
+                candidate = j;
+            }
+            out[picked++] = candidate;
+        }
+
+        // Floyd's algorithm yields a uniform set but not a uniform order
+        for (int i = k - 1; i > 0; i--) {
+            int swap = random.nextInt(i + 1);
+            int tmp = out[i];
+            out[i] = out[swap];
+            out[swap] = tmp;
+        }
+    }
+
+    /**
+     * Draws a board of distinct words from a bucket.
+     * If the bucket holds fewer than k words, the board is padded with the given placeholder.
+     */
+    public static List<String> sampleBoard(WordBucket bucket, int k, RandomGenerator random, String placeholder) {
+        String[] board = new String[k];
+        int available = Math.min(k, bucket.size());
+        int[] indices = new int[available];
+        sampleDistinct(bucket.size(), available, random, indices);
+
+        for (int i = 0; i < available; i++) {
+            board[i] = bucket.get(indices[i]);
+        }
+        Arrays.fill(board, available, k, placeholder);
+        return Arrays.asList(board);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.decryption.model.entity;
+
+/**
+ * Describes a change to the game that listeners may want to react to.
+ */
+public final class GameEvent {
+
+    public enum Type {
+        /** A new game started with a fresh board */
+        NEW_BOARD,
+        /** A valid guess was processed */
+        GUESS_MADE,
+        /** The game was won or lost */
+        GAME_OVER
+    }
+
+    private final Type type;
+    private final GameState state;
+
+    public GameEvent(Type type, GameState state) {
+        this.type = type;
+        this.state = state;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return The state of the game the event belongs to
+     */
+    public GameState getState() {
+        return state;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.decryption.model.entity;
+
+/**
+ * Receives {@link GameEvent}s. Called on the thread that changed the game.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+
+    void onGameEvent(GameEvent event);
+}
@@ -2,14 +2,14 @@ package com.example.decryption.model.entity;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Observable;
 
 /**
  * Represents the current state of the game.
- * Uses an Observable pattern to notify views when the state changes.
+ * Changes are announced as {@link GameEvent}s by the service that owns the state.
  */
-public class GameState extends Observable {
+public class GameState {
 
+    private long gameId;
     private String targetWord;
     private List<String> wordOptions;
     private int currentAttempt;
@@ -19,6 +19,11 @@ public class GameState extends Observable {
     private int currentScore;
     private boolean gameWon;
     private boolean gameOver;
+    private boolean timedOut;
+    private long gameDeadlineMillis;
+    private long guessDeadlineMillis;
+    private long gameDeadlineNanos;
+    private long guessDeadlineNanos;
 
     public GameState() {
         this.attemptedWords = new ArrayList<>();
@@ -29,15 +34,19 @@ public class GameState extends Observable {
         this.gameOver = false;
     }
 
+    // Getters and setters
+
     /**
-     * Updates the game state and notifies observers
+     * @return Id the owning service tags this game's log lines with, 0 if it has none
      */
-    public void updateState() {
-        setChanged();
-        notifyObservers();
+    public long getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(long gameId) {
+        this.gameId = gameId;
     }
 
-    // Getters and setters
     public String getTargetWord() {
         return targetWord;
     }
@@ -106,6 +115,79 @@ public class GameState extends Observable {
         this.gameOver = gameOver;
     }
 
+    /**
+     * @return true if the game was lost because a deadline passed
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public void setTimedOut(boolean timedOut) {
+        this.timedOut = timedOut;
+    }
+
+    /**
+     * @return Epoch millis by which the whole game must be finished, or 0 for no limit; for display only
+     */
+    public long getGameDeadlineMillis() {
+        return gameDeadlineMillis;
+    }
+
+    /**
+     * Sets or clears the deadline for the whole game
+     * @param deadlineNanos The deadline as a {@link System#nanoTime()} value, which is what is enforced
+     * @param deadlineMillis The same moment in epoch millis; 0 for no limit
+     */
+    public void setGameDeadline(long deadlineNanos, long deadlineMillis) {
+        this.gameDeadlineNanos = deadlineNanos;
+        this.gameDeadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * @return Epoch millis by which the next guess must be made, or 0 for no limit; for display only
+     */
+    public long getGuessDeadlineMillis() {
+        return guessDeadlineMillis;
+    }
+
+    /**
+     * Sets or clears the deadline for the next guess
+     * @param deadlineNanos The deadline as a {@link System#nanoTime()} value, which is what is enforced
+     * @param deadlineMillis The same moment in epoch millis; 0 for no limit
+     */
+    public void setGuessDeadline(long deadlineNanos, long deadlineMillis) {
+        this.guessDeadlineNanos = deadlineNanos;
+        this.guessDeadlineMillis = deadlineMillis;
+    }
+
+    /**
+     * Measured on the monotonic clock, so wall-clock changes neither shorten nor extend a game
+     * @param nowNanos The current {@link System#nanoTime()}
+     * @return Nanoseconds until the deadline that passes first, negative once it has passed,
+     *         or {@link Long#MAX_VALUE} if the game is not timed
+     */
+    public long getNanosUntilNextDeadline(long nowNanos) {
+        long remaining = Long.MAX_VALUE;
+        if (gameDeadlineMillis != 0) {
+            remaining = gameDeadlineNanos - nowNanos;
+        }
+        if (guessDeadlineMillis != 0) {
+            remaining = Math.min(remaining, guessDeadlineNanos - nowNanos);
+        }
+        return remaining;
+    }
+
+    /**
+     * Returns the deadline that passes first
+     * @return Epoch millis, or 0 if the game is not timed; for display only
+     */
+    public long getNextDeadlineMillis() {
+        if (gameDeadlineMillis == 0 || guessDeadlineMillis == 0) {
+            return Math.max(gameDeadlineMillis, guessDeadlineMillis);
+        }
+        return Math.min(gameDeadlineMillis, guessDeadlineMillis);
+    }
+
     /**
      * Returns the remaining attempts
      * @return Number of attempts left
@@ -0,0 +1,355 @@
+package com.example.decryption.server;
+
+import com.example.decryption.model.GameHistoryLog;
+import com.example.decryption.model.GameSessionManager;
+import com.example.decryption.model.Leaderboard;
+import com.example.decryption.model.ScoreManager;
+import com.example.decryption.model.SolverService;
+import com.example.decryption.model.WordListProvider;
+import com.example.decryption.util.AsyncLogWriter;
+import com.example.decryption.util.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves games to LAN clients over a line-based text protocol.
+ * Every connection plays in its own session of a {@link GameSessionManager}.
+ *
+ * <p>Requests and responses are single lines:
+ * <pre>
+ * NEW          -> BOARD &lt;8 words separated by commas&gt;
+ * GUESS word   -> CORRECT &lt;attempt&gt; &lt;score&gt; | WRONG &lt;matches&gt; &lt;attempts left&gt; | LOST &lt;matches&gt; &lt;target&gt;
+ *                 | TIMEOUT &lt;target&gt; when a timed game's deadline has passed
+ * HINT         -> HINT &lt;candidates left&gt; &lt;word&gt;
+ * NAME player  -> OK; later wins add their score to the player's leaderboard total
+ * RANK         -> RANK &lt;rank&gt; &lt;total&gt;
+ * TOP k        -> TOP &lt;rank&gt;:&lt;total&gt;:&lt;player&gt; entries separated by tabs
+ * QUIT         -> BYE
+ * </pre>
+ * Any request can also be answered with {@code ERROR <message>}. Words may contain spaces,
+ * so a word is always the last field of a line.
+ *
+ * <p>Player names are not authenticated: any connection may claim any name and add to its
+ * total, so the leaderboard is only meant for a trusted LAN. A name is at most
+ * {@value #MAX_PLAYER_NAME_LENGTH} letters, digits, spaces, dots, dashes or underscores, so it
+ * can never break the separators of a {@code TOP} response.
+ *
+ * <p>Each connection is served by one blocking thread: a virtual thread when the runtime
+ * provides them, otherwise a platform thread with a small stack.
+ */
+public class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 7878;
+
+    private static final Logger logger = new Logger("GameServer");
+    private static final long CONNECTION_STACK_SIZE = 256 * 1024;
+    public static final int MAX_PLAYER_NAME_LENGTH = 32;
+
+    private final GameSessionManager sessions;
+    private final Leaderboard leaderboard;
+    private final ExecutorService connectionExecutor = newPerTaskExecutor("game-server-connection");
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+
+    public GameServer(GameSessionManager sessions) {
+        this(sessions, new Leaderboard());
+    }
+
+    public GameServer(GameSessionManager sessions, Leaderboard leaderboard) {
+        this.sessions = sessions;
+        this.leaderboard = leaderboard;
+    }
+
+    /**
+     * Starts accepting connections
+     * @param port Port to listen on, or 0 for any free port
+     */
+    public synchronized void start(InetAddress bindAddress, int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Server already started");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(bindAddress, port), 4096);
+
+        acceptor = new Thread(this::acceptLoop, "game-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Game server listening on {address}", serverSocket.getLocalSocketAddress());
+    }
+
+    public synchronized int getPort() {
+        if (serverSocket == null) {
+            throw new IllegalStateException("Server not started");
+        }
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.add(socket);
+                connectionExecutor.execute(() -> serve(socket));
+            } catch (SocketException e) {
+                // Closed by close()
+            } catch (IOException e) {
+                logger.error("Error accepting connection", e);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Client client = new Client();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            client.sessionId = sessions.createSession();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String request = line.trim();
+                if (request.equalsIgnoreCase("QUIT")) {
+                    out.write("BYE\n");
+                    out.flush();
+                    break;
+                }
+
+                String response;
+                try {
+                    response = handle(client, request);
+                } catch (GameSessionManager.UnknownSessionException e) {
+                    // The session was evicted while the client sat idle
+                    client.sessionId = sessions.createSession();
+                    response = "ERROR Session expired, start a new game";
+                }
+                out.write(response);
+                out.write('\n');
+                out.flush();
+            }
+        } catch (IOException e) {
+            logger.debug("Connection closed: {reason}", e.getMessage());
+        } finally {
+            connections.remove(socket);
+            if (client.sessionId != null) {
+                sessions.closeSession(client.sessionId);
+            }
+        }
+    }
+
+    /**
+     * Answers one request of a connection
+     */
+    private String handle(Client client, String request) {
+        String sessionId = client.sessionId;
+        int space = request.indexOf(' ');
+        String command = (space < 0 ? request : request.substring(0, space)).toUpperCase(Locale.ROOT);
+        String argument = space < 0 ? "" : request.substring(space + 1).trim();
+
+        switch (command) {
+            case "NEW": {
+                return sessions.withSession(sessionId, game -> {
+                    game.startNewGame();
+                    return "BOARD " + String.join(",", game.getGameState().getWordOptions());
+                });
+            }
+            case "GUESS": {
+                if (argument.isEmpty()) {
+                    return "ERROR Missing word";
+                }
+                String word = argument.toUpperCase(Locale.ROOT);
+                return sessions.makeGuess(sessionId, word, (attemptsBefore, result, state) -> {
+                    if (state.getCurrentAttempt() == attemptsBefore) {
+                        if (state.isTimedOut()) {
+                            return "TIMEOUT " + state.getTargetWord();
+                        }
+                        return "ERROR " + result.getMessage();
+                    }
+
+                    int matches = state.getFeedbackScores().get(state.getFeedbackScores().size() - 1);
+                    if (result.isCorrect()) {
+                        if (client.player != null) {
+                            leaderboard.submitScore(client.player, state.getCurrentScore());
+                        }
+                        return "CORRECT " + state.getCurrentAttempt() + " " + state.getCurrentScore();
+                    }
+                    if (state.isGameOver()) {
+                        return "LOST " + matches + " " + state.getTargetWord();
+                    }
+                    return "WRONG " + matches + " " + state.getRemainingAttempts();
+                });
+            }
+            case "HINT": {
+                return sessions.withSession(sessionId, game -> {
+                    if (game.getGameState().isGameOver()) {
+                        return "ERROR Game is already over";
+                    }
+                    SolverService.Hint hint = game.getHint();
+                    return "HINT " + hint.getRemainingCandidates().size() + " " + hint.getSuggestedWord();
+                });
+            }
+            case "NAME": {
+                if (argument.isEmpty()) {
+                    return "ERROR Missing player name";
+                }
+                if (!isValidPlayerName(argument)) {
+                    return "ERROR Player names are up to " + MAX_PLAYER_NAME_LENGTH
+                            + " letters, digits, spaces, dots, dashes or underscores";
+                }
+                client.player = argument;
+                return "OK";
+            }
+            case "RANK": {
+                Leaderboard.Entry entry = client.player == null ? null : leaderboard.get(client.player);
+                if (entry == null) {
+                    return "ERROR No score yet";
+                }
+                return "RANK " + leaderboard.rank(client.player) + " " + entry.getScore();
+            }
+            case "TOP": {
+                int k;
+                try {
+                    k = argument.isEmpty() ? 10 : Integer.parseInt(argument);
+                } catch (NumberFormatException e) {
+                    return "ERROR Invalid count " + argument;
+                }
+                StringBuilder response = new StringBuilder("TOP");
+                for (Leaderboard.Entry entry : leaderboard.top(Math.max(0, Math.min(k, 100)))) {
+                    response.append(response.length() == 3 ? ' ' : '\t')
+                            .append(leaderboard.rankOfScore(entry.getScore())).append(':')
+                            .append(entry.getScore()).append(':').append(entry.getPlayer());
+                }
+                return response.toString();
+            }
+            default:
+                return "ERROR Unknown command " + command;
+        }
+    }
+
+    private static boolean isValidPlayerName(String name) {
+        if (name.isEmpty() || name.length() > MAX_PLAYER_NAME_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != ' ' && c != '.' && c != '-' && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Per-connection state
+     */
+    private static final class Client {
+        private String sessionId;
+        private String player;
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones
+     */
+    @Override
+    public synchronized void close() {
+        if (serverSocket == null) {
+            return;
+        }
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            logger.error("Error closing server socket", e);
+        }
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                logger.debug("Error closing connection: {reason}", e.getMessage());
+            }
+        }
+        connectionExecutor.shutdownNow();
+        logger.info("Game server stopped");
+    }
+
+    /**
+     * Creates an executor that runs every task on its own thread.
+     * Uses virtual threads when the runtime has them (Java 21 and later); otherwise falls back
+     * to daemon platform threads with a reduced stack so thousands of connections fit in memory.
+     */
+    static ExecutorService newPerTaskExecutor(String threadName) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger sequence = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(null, r, threadName + "-" + sequence.incrementAndGet(), CONNECTION_STACK_SIZE);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Runs a standalone server.
+     * Usage: {@code GameServer [port] [bind address]}; the default binds all interfaces on {@value #DEFAULT_PORT}.
+     * Timed games are enabled with {@code -Ddecryption.timed.game.millis} and {@code -Ddecryption.timed.guess.millis}.
+     * Games are recorded only if {@code -Ddecryption.history.dir} names a directory, since the
+     * history has no retention limit. The leaderboard is kept in {@code leaderboard.dat}, or in
+     * {@code -Ddecryption.leaderboard.file}.
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        InetAddress bindAddress = args.length > 1 ? InetAddress.getByName(args[1]) : null;
+
+        // Per-game log lines must never stall a connection thread
+        Logger.enableAsync(1 << 16, AsyncLogWriter.OverflowPolicy.DROP);
+        ScoreManager scoreManager = new ScoreManager();
+        GameSessionManager sessions = new GameSessionManager(new WordListProvider(), scoreManager);
+        sessions.enableTimedMode(Long.getLong("decryption.timed.game.millis", 0), Long.getLong("decryption.timed.guess.millis", 0));
+        String historyDirectory = System.getProperty("decryption.history.dir");
+        GameHistoryLog historyLog = historyDirectory != null ? new GameHistoryLog(Paths.get(historyDirectory)) : null;
+        if (historyLog != null) {
+            sessions.recordHistory(historyLog);
+        }
+        Leaderboard leaderboard = new Leaderboard(Paths.get(System.getProperty("decryption.leaderboard.file", "leaderboard.dat")),
+                TimeUnit.MINUTES.toMillis(1));
+        GameServer server = new GameServer(sessions, leaderboard);
+        server.start(bindAddress, port);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            sessions.close();
+            if (historyLog != null) {
+                historyLog.close();
+            }
+            leaderboard.close();
+            scoreManager.close();
+            Logger.shutdown();
+        }, "game-server-shutdown"));
+        Thread.currentThread().join();
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.decryption.server;
+
+import com.example.decryption.util.LatencyHistogram;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives a {@link GameServer} with many concurrent clients and measures request latency.
+ * Every client connects first and waits for the others, then plays its games by guessing the
+ * board words in random order, so all connections are open at once.
+ */
+public class LoadTestClient {
+
+    private final String host;
+    private final int port;
+
+    public LoadTestClient(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * Runs the load test and waits for every client to finish
+     * @param clients Number of concurrent connections
+     * @param gamesPerClient Games each client plays
+     */
+    public LoadTestResult run(int clients, int gamesPerClient, long seed) throws InterruptedException {
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong games = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch connected = new CountDownLatch(clients);
+        SplittableRandom root = new SplittableRandom(seed);
+
+        ExecutorService executor = GameServer.newPerTaskExecutor("load-test-client");
+        long startNanos;
+        try {
+            List<Future<?>> workers = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                SplittableRandom random = root.split();
+                workers.add(executor.submit(() -> {
+                    playClient(gamesPerClient, random, connected, latency, games, errors);
+                    return null;
+                }));
+            }
+            connected.await();
+            startNanos = System.nanoTime();
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    errors.incrementAndGet();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return new LoadTestResult(clients, games.get(), errors.get(), latency, System.nanoTime() - startNanos);
+    }
+
+    private void playClient(int gamesToPlay, SplittableRandom random, CountDownLatch connected,
+                            LatencyHistogram latency, AtomicLong games, AtomicLong errors) throws IOException, InterruptedException {
+        Socket socket;
+        try {
+            socket = new Socket(host, port);
+            socket.setTcpNoDelay(true);
+        } finally {
+            connected.countDown();
+        }
+        connected.await();
+
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            for (int game = 0; game < gamesToPlay; game++) {
+                String board = request(in, out, "NEW", latency);
+                if (!board.startsWith("BOARD ")) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+
+                String[] words = board.substring(6).split(",");
+                for (int i = words.length - 1; i > 0; i--) {
+                    int swap = random.nextInt(i + 1);
+                    String tmp = words[i];
+                    words[i] = words[swap];
+                    words[swap] = tmp;
+                }
+
+                for (String word : words) {
+                    String response = request(in, out, "GUESS " + word, latency);
+                    if (response.startsWith("ERROR")) {
+                        errors.incrementAndGet();
+                        break;
+                    }
+                    if (response.startsWith("CORRECT") || response.startsWith("LOST") || response.startsWith("TIMEOUT")) {
+                        games.incrementAndGet();
+                        break;
+                    }
+                }
+            }
+            request(in, out, "QUIT", latency);
+        }
+    }
+
+    private static String request(BufferedReader in, Writer out, String request, LatencyHistogram latency) throws IOException {
+        long startNanos = System.nanoTime();
+        out.write(request);
+        out.write('\n');
+        out.flush();
+        String response = in.readLine();
+        latency.recordSince(startNanos);
+        if (response == null) {
+            throw new IOException("Server closed the connection");
+        }
+        return response;
+    }
+
+    /**
+     * Outcome of a load test
+     */
+    public static class LoadTestResult {
+        private final int clients;
+        private final long gamesCompleted;
+        private final long errors;
+        private final LatencyHistogram latency;
+        private final long elapsedNanos;
+
+        public LoadTestResult(int clients, long gamesCompleted, long errors, LatencyHistogram latency, long elapsedNanos) {
+            this.clients = clients;
+            this.gamesCompleted = gamesCompleted;
+            this.errors = errors;
+            this.latency = latency;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getClients() {
+            return clients;
+        }
+
+        public long getGamesCompleted() {
+            return gamesCompleted;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return Round-trip latency of every request
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public double getRequestsPerSecond() {
+            return elapsedNanos == 0 ? 0 : latency.getCount() * 1e9 / elapsedNanos;
+        }
+    }
+
+    /**
+     * Runs a load test against a server.
+     * Usage: {@code LoadTestClient [--host H] [--port N] [--clients N] [--games N] [--seed N]}
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String host = "localhost";
+        int port = GameServer.DEFAULT_PORT;
+        int clients = 1000;
+        int games = 20;
+        long seed = 42;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--host" -> host = args[i + 1];
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--clients" -> clients = Integer.parseInt(args[i + 1]);
+                case "--games" -> games = Integer.parseInt(args[i + 1]);
+                case "--seed" -> seed = Long.parseLong(args[i + 1]);
+                default -> {
+                    System.err.println("Unknown option " + args[i]);
+                    System.exit(1);
+                }
+            }
+        }
+
+        LoadTestResult result = new LoadTestClient(host, port).run(clients, games, seed);
+        LatencyHistogram latency = result.getLatency();
+        System.out.printf("Clients:         %d%n", result.getClients());
+        System.out.printf("Games completed: %d%n", result.getGamesCompleted());
+        System.out.printf("Errors:          %d%n", result.getErrors());
+        System.out.printf("Requests/s:      %.0f%n", result.getRequestsPerSecond());
+        System.out.printf("Latency us:      p50=%d p90=%d p99=%d p99.9=%d max=%d%n",
+                latency.getPercentileNanos(50) / 1000, latency.getPercentileNanos(90) / 1000,
+                latency.getPercentileNanos(99) / 1000, latency.getPercentileNanos(99.9) / 1000,
+                latency.getMaxNanos() / 1000);
+    }
+}
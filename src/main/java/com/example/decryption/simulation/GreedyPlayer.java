@@ -0,0 +1,42 @@
+package com.example.decryption.simulation;
+
+import com.example.decryption.model.FeedbackCalculator;
+import com.example.decryption.model.GameService;
+import com.example.decryption.model.entity.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Guesses a random word that is still consistent with all feedback so far, without looking
+ * ahead at which guess would split the remaining candidates best
+ */
+public class GreedyPlayer implements PlayerStrategy {
+
+    private final RandomPlayer fallback = new RandomPlayer();
+
+    @Override
+    public String nextGuess(GameService game, RandomGenerator random) {
+        GameState state = game.getGameState();
+        List<String> attempted = state.getAttemptedWords();
+        List<Integer> feedback = state.getFeedbackScores();
+
+        List<String> candidates = new ArrayList<>();
+        outer:
+        for (String word : state.getWordOptions()) {
+            for (int h = 0; h < attempted.size(); h++) {
+                if (FeedbackCalculator.matchCount(attempted.get(h), word) != feedback.get(h)) {
+                    continue outer;
+                }
+            }
+            candidates.add(word);
+        }
+
+        // Wrong guesses never stay consistent, so this only happens on odd boards such as padded ones
+        if (candidates.isEmpty()) {
+            return fallback.nextGuess(game, random);
+        }
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+}
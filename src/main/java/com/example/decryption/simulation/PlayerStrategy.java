@@ -0,0 +1,32 @@
+package com.example.decryption.simulation;
+
+import com.example.decryption.model.GameService;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Decides the next guess of a simulated player.
+ * Implementations are stateless, so one instance can be shared by all simulation threads.
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Chooses a word from the current board that has not been guessed yet
+     * @param game The game in progress
+     * @param random Source of randomness owned by the calling thread
+     */
+    String nextGuess(GameService game, RandomGenerator random);
+
+    /**
+     * Looks up a strategy by its command line name
+     * @param name One of {@code random}, {@code greedy} or {@code solver}
+     */
+    static PlayerStrategy forName(String name) {
+        return switch (name.toLowerCase()) {
+            case "random" -> new RandomPlayer();
+            case "greedy" -> new GreedyPlayer();
+            case "solver" -> new SolverPlayer();
+            default -> throw new IllegalArgumentException("Unknown strategy: " + name);
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.decryption.simulation;
+
+import com.example.decryption.model.GameService;
+import com.example.decryption.model.entity.GameState;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Guesses any word that has not been tried yet, ignoring the feedback
+ */
+public class RandomPlayer implements PlayerStrategy {
+
+    @Override
+    public String nextGuess(GameService game, RandomGenerator random) {
+        GameState state = game.getGameState();
+        List<String> options = state.getWordOptions();
+        List<String> attempted = state.getAttemptedWords();
+
+        int remaining = options.size() - attempted.size();
+        int chosen = random.nextInt(remaining);
+        for (String word : options) {
+            if (!attempted.contains(word) && chosen-- == 0) {
+                return word;
+            }
+        }
+        throw new IllegalStateException("No word left to guess");
+    }
+}
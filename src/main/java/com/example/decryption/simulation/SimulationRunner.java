@@ -0,0 +1,231 @@
+package com.example.decryption.simulation;
+
+import com.example.decryption.model.Difficulty;
+import com.example.decryption.model.GameService;
+import com.example.decryption.model.ScoreManager;
+import com.example.decryption.model.WordListProvider;
+import com.example.decryption.model.entity.GameState;
+import com.example.decryption.util.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Plays games headlessly across threads with a {@link PlayerStrategy}, for balancing and as a
+ * repeatable load generator.
+ *
+ * <p>Every thread owns its {@link GameService} and an in-memory {@link ScoreManager}, so the
+ * threads share nothing but the read-only word lists and a counter of games to play. Nothing
+ * is written to the score files.
+ */
+public class SimulationRunner {
+
+    private static final int GAMES_PER_CLAIM = 256;
+
+    private final WordListProvider wordListProvider;
+    private final PlayerStrategy strategy;
+    private final Difficulty difficulty;
+    private final int threads;
+
+    /**
+     * @param difficulty Board difficulty, or null for random boards
+     * @param threads Number of threads playing games
+     */
+    public SimulationRunner(WordListProvider wordListProvider, PlayerStrategy strategy, Difficulty difficulty, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.wordListProvider = wordListProvider;
+        this.strategy = strategy;
+        this.difficulty = difficulty;
+        this.threads = threads;
+    }
+
+    /**
+     * Plays the given number of games and waits for all of them
+     * @param seed Seeds the strategy's randomness; thread i uses a generator split off in order
+     */
+    public SimulationResult run(long games, long seed) throws InterruptedException {
+        AtomicLong claimed = new AtomicLong();
+        SplittableRandom root = new SplittableRandom(seed);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "simulation");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long startNanos = System.nanoTime();
+        try {
+            List<Future<ScoreManager>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                SplittableRandom random = root.split();
+                workers.add(executor.submit(() -> play(games, claimed, random)));
+            }
+
+            List<ScoreManager> results = new ArrayList<>(threads);
+            for (Future<ScoreManager> worker : workers) {
+                results.add(worker.get());
+            }
+            return SimulationResult.merge(results, System.nanoTime() - startNanos);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Claims batches of games from the shared counter until all games are taken
+     */
+    private ScoreManager play(long games, AtomicLong claimed, SplittableRandom random) {
+        ScoreManager scoreManager = ScoreManager.inMemory();
+        GameService gameService = new GameService(wordListProvider, scoreManager);
+        gameService.setDifficulty(difficulty);
+
+        long from;
+        while ((from = claimed.getAndAdd(GAMES_PER_CLAIM)) < games) {
+            long to = Math.min(games, from + GAMES_PER_CLAIM);
+            for (long game = from; game < to; game++) {
+                playGame(gameService, random);
+            }
+        }
+        return scoreManager;
+    }
+
+    private void playGame(GameService gameService, SplittableRandom random) {
+        gameService.startNewGame();
+        GameState state = gameService.getGameState();
+        int guesses = 0;
+        while (!state.isGameOver()) {
+            if (++guesses > state.getWordOptions().size()) {
+                throw new IllegalStateException("Strategy keeps making invalid guesses");
+            }
+            gameService.makeGuess(strategy.nextGuess(gameService, random));
+        }
+    }
+
+    /**
+     * Totals of a simulation run
+     */
+    public static class SimulationResult {
+        private final long gamesPlayed;
+        private final long gamesWon;
+        private final long totalScore;
+        private final Map<Integer, Integer> attemptDistribution;
+        private final long elapsedNanos;
+
+        public SimulationResult(long gamesPlayed, long gamesWon, long totalScore,
+                                Map<Integer, Integer> attemptDistribution, long elapsedNanos) {
+            this.gamesPlayed = gamesPlayed;
+            this.gamesWon = gamesWon;
+            this.totalScore = totalScore;
+            this.attemptDistribution = attemptDistribution;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        static SimulationResult merge(List<ScoreManager> scoreManagers, long elapsedNanos) {
+            long played = 0;
+            long won = 0;
+            long score = 0;
+            Map<Integer, Integer> distribution = new HashMap<>();
+            for (ScoreManager scoreManager : scoreManagers) {
+                played += scoreManager.getGamesPlayed();
+                won += scoreManager.getGamesWon();
+                score += scoreManager.getTotalScore();
+                scoreManager.getAttemptDistribution().forEach((attempt, count) -> distribution.merge(attempt, count, Integer::sum));
+            }
+            return new SimulationResult(played, won, score, distribution, elapsedNanos);
+        }
+
+        public long getGamesPlayed() {
+            return gamesPlayed;
+        }
+
+        public long getGamesWon() {
+            return gamesWon;
+        }
+
+        public long getTotalScore() {
+            return totalScore;
+        }
+
+        /**
+         * @return Winning attempt number -> count, shaped like {@link ScoreManager#getAttemptDistribution()}
+         */
+        public Map<Integer, Integer> getAttemptDistribution() {
+            return attemptDistribution;
+        }
+
+        /**
+         * @return Win rate as a double between 0 and 100
+         */
+        public double getWinPercentage() {
+            return gamesPlayed == 0 ? 0 : (double) gamesWon / gamesPlayed * 100;
+        }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : gamesPlayed * 1e9 / elapsedNanos;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    /**
+     * Runs a simulation from the command line.
+     * Usage: {@code SimulationRunner [--games N] [--threads N] [--strategy random|greedy|solver]
+     * [--difficulty easy|medium|hard] [--seed N]}
+     */
+    public static void main(String[] args) throws InterruptedException {
+        long games = 100_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String strategyName = "solver";
+        Difficulty difficulty = null;
+        long seed = 42;
+
+        for (int i = 0; i < args.length; i++) {
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + args[i]);
+            }
+            String value = args[++i];
+            switch (args[i - 1]) {
+                case "--games" -> games = Long.parseLong(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--strategy" -> strategyName = value;
+                case "--difficulty" -> difficulty = Difficulty.valueOf(value.toUpperCase());
+                case "--seed" -> seed = Long.parseLong(value);
+                default -> usage("Unknown option " + args[i - 1]);
+            }
+        }
+
+        // Headless runs must not write the game log
+        Logger.setEnabled(false);
+        WordListProvider wordListProvider = new WordListProvider();
+        SimulationRunner runner = new SimulationRunner(wordListProvider, PlayerStrategy.forName(strategyName), difficulty, threads);
+        SimulationResult result = runner.run(games, seed);
+
+        System.out.printf("Strategy:             %s%n", strategyName);
+        System.out.printf("Difficulty:           %s%n", difficulty == null ? "random" : difficulty);
+        System.out.printf("Threads:              %d%n", threads);
+        System.out.printf("Games played:         %d%n", result.getGamesPlayed());
+        System.out.printf("Win rate:             %.2f%%%n", result.getWinPercentage());
+        System.out.printf("Attempt distribution: %s%n", result.getAttemptDistribution());
+        System.out.printf("Games per second:     %.0f%n", result.getGamesPerSecond());
+    }
+
+    private static void usage(String error) {
+        System.err.println(error);
+        System.err.println("Usage: SimulationRunner [--games N] [--threads N] [--strategy random|greedy|solver]"
+                + " [--difficulty easy|medium|hard] [--seed N]");
+        System.exit(1);
+    }
+}
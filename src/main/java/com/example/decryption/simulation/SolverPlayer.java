@@ -0,0 +1,22 @@
+package com.example.decryption.simulation;
+
+import com.example.decryption.model.GameService;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Follows the hint of the entropy-based solver
+ */
+public class SolverPlayer implements PlayerStrategy {
+
+    private final RandomPlayer fallback = new RandomPlayer();
+
+    @Override
+    public String nextGuess(GameService game, RandomGenerator random) {
+        String suggestion = game.getHint().getSuggestedWord();
+        if (suggestion == null || game.getGameState().getAttemptedWords().contains(suggestion)) {
+            return fallback.nextGuess(game, random);
+        }
+        return suggestion;
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.decryption.util;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer for log entries.
+ * Callers enqueue formatted entries into a bounded lock-free ring buffer, and a single
+ * writer thread drains it in batches into a {@link RollingLogFile}.
+ */
+public class AsyncLogWriter {
+
+    /**
+     * What to do when the ring buffer is full
+     */
+    public enum OverflowPolicy {
+        /** Wait until the writer frees a slot */
+        BLOCK,
+        /** Discard the entry */
+        DROP,
+        /** Keep one entry out of every {@link #SAMPLE_RATE} and discard the rest */
+        SAMPLE
+    }
+
+    public static final int SAMPLE_RATE = 16;
+
+    private static final int BATCH_BYTES = 64 * 1024;
+    /** Entries drained per batch, which bounds the console output built for one batch */
+    private static final int BATCH_ENTRIES = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    /** Set on {@link #tail} once no more entries may be claimed */
+    private static final long CLOSED = 1L << 62;
+
+    private final String[] entries;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final OverflowPolicy overflowPolicy;
+    private final RollingLogFile logFile;
+    private final PrintStream console;
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+    private volatile boolean writerParked;
+    private volatile long written;
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_BYTES);
+    // Characters UTF-8 cannot encode, such as a lone surrogate, are written as '?' instead of cutting the entry short
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final StringBuilder consoleBatch = new StringBuilder();
+
+    /**
+     * @param logFile File the entries are appended to; it stays open when the writer stops
+     * @param capacity Ring buffer size, rounded up to a power of two
+     * @param overflowPolicy Behavior when the buffer is full
+     * @param console Stream entries are echoed to, or null for none
+     */
+    public AsyncLogWriter(RollingLogFile logFile, int capacity, OverflowPolicy overflowPolicy, PrintStream console) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("Capacity must be at least 2: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.entries = new String[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.overflowPolicy = overflowPolicy;
+        this.console = console;
+        this.logFile = logFile;
+
+        this.writerThread = new Thread(this::runWriter, "async-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Enqueues an entry.
+     * @param entry The formatted log line, without line separator
+     * @param critical Critical entries always wait for space regardless of the overflow policy
+     * @return false if the entry was discarded, either by the overflow policy or because the
+     *         writer has stopped; {@link #isRunning()} tells the two apart
+     */
+    public boolean append(String entry, boolean critical) {
+        if (!running) {
+            return false;
+        }
+        if (tryAppend(entry)) {
+            return true;
+        }
+
+        boolean wait = critical || overflowPolicy == OverflowPolicy.BLOCK
+                || (overflowPolicy == OverflowPolicy.SAMPLE && overflowCount.incrementAndGet() % SAMPLE_RATE == 0);
+        if (!wait) {
+            dropped.increment();
+            return false;
+        }
+
+        while (!tryAppend(entry)) {
+            if (!running) {
+                return false;
+            }
+            wakeWriter();
+            Thread.onSpinWait();
+            Thread.yield();
+        }
+        return true;
+    }
+
+    private boolean tryAppend(String entry) {
+        while (true) {
+            long position = tail.get();
+            if ((position & CLOSED) != 0) {
+                return false;
+            }
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    entries[index] = entry;
+                    sequences.set(index, position + 1);
+                    if (writerParked) {
+                        wakeWriter();
+                    }
+                    return true;
+                }
+            } else if (sequence < position) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Blocks until everything enqueued before this call has been written
+     */
+    public void flush() {
+        long target = end();
+        while (written < target && writerThread.isAlive()) {
+            wakeWriter();
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+        }
+    }
+
+    /**
+     * Writes all pending entries and stops the writer thread
+     */
+    public void shutdown() {
+        close();
+        wakeWriter();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return false once the writer has been shut down or has failed; entries are no longer accepted
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return Number of entries waiting to be written
+     */
+    public int getQueueDepth() {
+        return (int) Math.max(0, end() - head);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops producers from claiming further slots.
+     * The tail is sealed before {@code running} flips, so once the writer sees it stopped every
+     * accepted entry lies below {@link #end()} and is drained before the thread exits.
+     */
+    private void close() {
+        long position;
+        do {
+            position = tail.get();
+        } while ((position & CLOSED) == 0 && !tail.compareAndSet(position, position | CLOSED));
+        running = false;
+    }
+
+    private long end() {
+        return tail.get() & ~CLOSED;
+    }
+
+    private void wakeWriter() {
+        LockSupport.unpark(writerThread);
+    }
+
+    private void runWriter() {
+        try {
+            while (running || head < end()) {
+                if (drainBatch() == 0) {
+                    writerParked = true;
+                    if (head == end() && running) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    writerParked = false;
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Async log writer failed, falling back to synchronous writes: " + e.getMessage());
+        } finally {
+            // Release producers waiting for space; Logger writes their entries synchronously
+            close();
+            written = end();
+        }
+    }
+
+    private int drainBatch() throws IOException {
+        int count = 0;
+        long position = head;
+        while (count < BATCH_ENTRIES) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            String entry = entries[index];
+            entries[index] = null;
+            sequences.set(index, position + mask + 1);
+            position++;
+            head = position;
+            count++;
+
+            encode(entry);
+            if (console != null) {
+                consoleBatch.append(entry).append(System.lineSeparator());
+            }
+        }
+
+        if (count > 0) {
+            writeBuffer();
+            if (console != null) {
+                console.print(consoleBatch);
+                consoleBatch.setLength(0);
+            }
+            written = position;
+        }
+        return count;
+    }
+
+    private void encode(String entry) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(entry);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                writeBuffer();
+            } else {
+                break;
+            }
+        }
+        if (buffer.remaining() < 1) {
+            writeBuffer();
+        }
+        buffer.put((byte) '\n');
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        logFile.write(buffer);
+        buffer.clear();
+    }
+}
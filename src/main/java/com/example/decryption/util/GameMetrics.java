@@ -0,0 +1,197 @@
+package com.example.decryption.util;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application-wide gameplay metrics, exposed as JMX MBeans under {@value #DOMAIN}.
+ * Counters are {@link LongAdder}s and latencies go into {@link LatencyHistogram}s, so
+ * recording from the game loop is cheap, contention-free and allocation-free.
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+
+    public static final String DOMAIN = "com.example.decryption";
+
+    private static final GameMetrics INSTANCE = new GameMetrics();
+    private static final Logger logger = new Logger("GameMetrics");
+
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder guesses = new LongAdder();
+    private final LongAdder wins = new LongAdder();
+    private final LongAdder losses = new LongAdder();
+    private final LongAdder persistenceErrors = new LongAdder();
+
+    private final LatencyHistogram startGameLatency = new LatencyHistogram();
+    private final LatencyHistogram guessLatency = new LatencyHistogram();
+    private final LatencyHistogram persistenceLatency = new LatencyHistogram();
+    private final LatencyHistogram wordListLoadLatency = new LatencyHistogram();
+
+    private volatile boolean registered;
+
+    private GameMetrics() {
+    }
+
+    public static GameMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the MBeans with the platform MBean server. Safe to call more than once.
+     */
+    public synchronized void registerMBeans() {
+        if (registered) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            register(server, this, "type=GameMetrics");
+            register(server, new HistogramMBean(startGameLatency), "type=Latency,name=startNewGame");
+            register(server, new HistogramMBean(guessLatency), "type=Latency,name=makeGuess");
+            register(server, new HistogramMBean(persistenceLatency), "type=Latency,name=saveScores");
+            register(server, new HistogramMBean(wordListLoadLatency), "type=Latency,name=loadWordLists");
+            registered = true;
+        } catch (JMException e) {
+            logger.error("Failed to register metrics MBeans", e);
+        }
+    }
+
+    private static void register(MBeanServer server, Object bean, String properties) throws JMException {
+        try {
+            server.registerMBean(bean, new ObjectName(DOMAIN + ":" + properties));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by an earlier instance of the application in this JVM
+        }
+    }
+
+    /**
+     * Records a started game
+     * @param startNanos {@link System#nanoTime()} reading taken when the start began
+     */
+    public void recordGameStart(long startNanos) {
+        gamesStarted.increment();
+        startGameLatency.recordSince(startNanos);
+    }
+
+    public void recordGuess(long startNanos) {
+        guesses.increment();
+        guessLatency.recordSince(startNanos);
+    }
+
+    public void recordGameResult(boolean won) {
+        if (won) {
+            wins.increment();
+        } else {
+            losses.increment();
+        }
+    }
+
+    public void recordPersistence(long startNanos) {
+        persistenceLatency.recordSince(startNanos);
+    }
+
+    public void recordPersistenceError() {
+        persistenceErrors.increment();
+    }
+
+    public void recordWordListLoad(long startNanos) {
+        wordListLoadLatency.recordSince(startNanos);
+    }
+
+    public LatencyHistogram getStartGameLatency() {
+        return startGameLatency;
+    }
+
+    public LatencyHistogram getGuessLatency() {
+        return guessLatency;
+    }
+
+    public LatencyHistogram getPersistenceLatency() {
+        return persistenceLatency;
+    }
+
+    public LatencyHistogram getWordListLoadLatency() {
+        return wordListLoadLatency;
+    }
+
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+
+    @Override
+    public long getGuesses() {
+        return guesses.sum();
+    }
+
+    @Override
+    public long getWins() {
+        return wins.sum();
+    }
+
+    @Override
+    public long getLosses() {
+        return losses.sum();
+    }
+
+    @Override
+    public long getPersistenceErrors() {
+        return persistenceErrors.sum();
+    }
+
+    @Override
+    public int getLoggerQueueDepth() {
+        return Logger.getQueueDepth();
+    }
+
+    private static final class HistogramMBean implements LatencyMXBean {
+        private final LatencyHistogram histogram;
+
+        HistogramMBean(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMicros() {
+            return histogram.getMeanNanos() / 1000.0;
+        }
+
+        @Override
+        public double getP50Micros() {
+            return histogram.getPercentileNanos(50) / 1000.0;
+        }
+
+        @Override
+        public double getP90Micros() {
+            return histogram.getPercentileNanos(90) / 1000.0;
+        }
+
+        @Override
+        public double getP99Micros() {
+            return histogram.getPercentileNanos(99) / 1000.0;
+        }
+
+        @Override
+        public double getP999Micros() {
+            return histogram.getPercentileNanos(99.9) / 1000.0;
+        }
+
+        @Override
+        public double getMaxMicros() {
+            return histogram.getMaxNanos() / 1000.0;
+        }
+
+        @Override
+        public void reset() {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.decryption.util;
+
+/**
+ * JMX view of gameplay counters
+ */
+public interface GameMetricsMXBean {
+
+    long getGamesStarted();
+
+    long getGuesses();
+
+    long getWins();
+
+    long getLosses();
+
+    long getPersistenceErrors();
+
+    int getLoggerQueueDepth();
+}
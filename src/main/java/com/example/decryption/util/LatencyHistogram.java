@@ -0,0 +1,139 @@
+package com.example.decryption.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent latency histogram with log-linear buckets, in the style of HdrHistogram.
+ * Values below {@value #SUB_BUCKETS} nanoseconds are exact; above that each power of two is
+ * split into {@value #SUB_BUCKETS} buckets, which bounds the relative error to about 3%.
+ *
+ * <p>Counts are striped by thread so concurrent recorders rarely touch the same cache line,
+ * and recording never allocates.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = 64 - SUB_BUCKET_BITS;
+    private static final int BUCKETS = (MAGNITUDES + 1) * SUB_BUCKETS;
+    private static final int STRIPES = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+    private static final int STRIPE_PADDING = 16;
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+    private final AtomicLong max = new AtomicLong();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            // Two extra slots per stripe hold the count and the sum; padding keeps stripes apart
+            stripes[i] = new AtomicLongArray(BUCKETS + 2 + STRIPE_PADDING);
+        }
+    }
+
+    /**
+     * Records one latency sample
+     * @param nanos Duration in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        AtomicLongArray stripe = stripes[(int) Thread.currentThread().getId() & (STRIPES - 1)];
+        stripe.getAndIncrement(bucketIndex(value));
+        stripe.getAndIncrement(BUCKETS);
+        stripe.getAndAdd(BUCKETS + 1, value);
+
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (AtomicLongArray stripe : stripes) {
+            count += stripe.get(BUCKETS);
+        }
+        return count;
+    }
+
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    public double getMeanNanos() {
+        long count = 0;
+        long sum = 0;
+        for (AtomicLongArray stripe : stripes) {
+            count += stripe.get(BUCKETS);
+            sum += stripe.get(BUCKETS + 1);
+        }
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Estimates a percentile from the buckets
+     * @param percentile Value between 0 and 100
+     * @return Upper bound of the bucket containing the percentile, in nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int b = 0; b < BUCKETS; b++) {
+                long c = stripe.get(b);
+                counts[b] += c;
+                total += c;
+            }
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts[b];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(b), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Clears all samples. Samples recorded concurrently may be partially kept.
+     */
+    public void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int b = 0; b < BUCKETS + 2; b++) {
+                stripe.set(b, 0);
+            }
+        }
+        max.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> (magnitude - 1)) & (SUB_BUCKETS - 1);
+        return magnitude * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        int magnitude = index / SUB_BUCKETS;
+        long subBucket = index % SUB_BUCKETS;
+        if (magnitude == 0) {
+            return subBucket;
+        }
+        long base = (SUB_BUCKETS + subBucket) << (magnitude - 1);
+        return base + (1L << (magnitude - 1)) - 1;
+    }
+}
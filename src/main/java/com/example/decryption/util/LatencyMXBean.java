@@ -0,0 +1,23 @@
+package com.example.decryption.util;
+
+/**
+ * JMX view of one {@link LatencyHistogram}. Latencies are reported in microseconds.
+ */
+public interface LatencyMXBean {
+
+    long getCount();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,14 @@
+package com.example.decryption.util;
+
+/**
+ * Severity of a log entry, from least to most severe.
+ * A logger writes entries at or above its level.
+ */
+public enum LogLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    /** Writes nothing */
+    OFF
+}
@@ -1,47 +1,239 @@
 package com.example.decryption.util;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
 
 /**
  * Simple logger utility for the application.
+ * Entries are written synchronously by default; {@link #enableAsync} moves file I/O to a background writer.
+ * Both write to a {@link RollingLogFile} in the {@code logs} directory, or in
+ * {@code -Ddecryption.log.dir}, sized with {@code -Ddecryption.log.maxBytes} and
+ * {@code -Ddecryption.log.maxArchives}.
+ *
+ * <p>Each logger writes entries at or above its level, taken from
+ * {@code -Ddecryption.log.level.<class name>}, else {@code -Ddecryption.log.level}, else DEBUG.
+ * A disabled call costs one comparison: the supplier and parameterized overloads build their
+ * message only after the check, and the one- and two-argument forms allocate nothing before it
+ * apart from boxing primitive arguments outside the small-value caches.
+ *
+ * <p>Parameterized messages use {@code {}} or named {@code {key}} placeholders. With
+ * {@code -Ddecryption.log.format=kv} entries are written as key/value pairs instead, with the
+ * unformatted pattern as {@code msg} and every argument under its placeholder's name, e.g.
+ * {@code ts=2026-01-01T10:00:00 level=INFO logger=GameService msg="Game {game} lost after {attempts} attempts" game=7 attempts=5}.
  */
 public class Logger {
 
-    private static final String LOG_DIRECTORY = "logs";
-    private static final String LOG_FILE = "game.log";
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+    private static final String DIRECTORY_PROPERTY = "decryption.log.dir";
+    private static final String LOG_NAME = "game";
+    private static final long MAX_LOG_BYTES = Long.getLong("decryption.log.maxBytes", 10L << 20);
+    private static final int MAX_LOG_ARCHIVES = Integer.getInteger("decryption.log.maxArchives", 20);
+    private static final String LEVEL_PROPERTY = "decryption.log.level";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter STRUCTURED_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final Object SYNC_WRITE_LOCK = new Object();
+
+    private static volatile RollingLogFile logFile;
+    private static volatile AsyncLogWriter asyncWriter;
+    private static volatile boolean enabled = true;
+    private static volatile boolean structured = "kv".equalsIgnoreCase(System.getProperty("decryption.log.format"));
 
     private final String className;
+    private final int threshold;
 
     public Logger(String className) {
         this.className = className;
+        this.threshold = configuredLevel(className).ordinal();
         initLogDirectory();
     }
 
+    private static LogLevel configuredLevel(String className) {
+        String value = System.getProperty(LEVEL_PROPERTY + "." + className, System.getProperty(LEVEL_PROPERTY));
+        if (value == null) {
+            return LogLevel.DEBUG;
+        }
+        try {
+            return LogLevel.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown log level '" + value + "' for " + className + ", using DEBUG");
+            return LogLevel.DEBUG;
+        }
+    }
+
     /**
      * Ensures the log directory exists
      */
     private void initLogDirectory() {
-        File directory = new File(LOG_DIRECTORY);
+        File directory = new File(logDirectory());
         if (!directory.exists()) {
             boolean created = directory.mkdirs();
             if (!created) {
-                System.err.println("Failed to create log directory: " + LOG_DIRECTORY);
+                System.err.println("Failed to create log directory: " + directory);
             }
         }
     }
 
+    /**
+     * @return true if entries of the given level are written
+     */
+    public boolean isEnabled(LogLevel level) {
+        return level.ordinal() >= threshold;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    /**
+     * Guards hot-path calls whose primitive arguments would otherwise be boxed before the level check
+     */
+    public boolean isInfoEnabled() {
+        return isEnabled(LogLevel.INFO);
+    }
+
+    /**
+     * Logs a debug message
+     * @param message The message to log
+     */
+    public void debug(String message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a debug message built only if DEBUG is enabled
+     */
+    public void debug(Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, message.get(), NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a debug message with one placeholder
+     */
+    public void debug(String pattern, Object arg) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, pattern, new Object[]{arg});
+        }
+    }
+
+    /**
+     * Logs a debug message with two placeholders
+     */
+    public void debug(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs a debug message with any number of placeholders.
+     * The argument array is allocated by the caller even when DEBUG is disabled.
+     */
+    public void debug(String pattern, Object... args) {
+        if (isEnabled(LogLevel.DEBUG)) {
+            log(LogLevel.DEBUG, pattern, args);
+        }
+    }
+
     /**
      * Logs an info message
      * @param message The message to log
      */
     public void info(String message) {
-        log("INFO", message);
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs an info message built only if INFO is enabled
+     */
+    public void info(Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, message.get(), NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs an info message with one placeholder
+     */
+    public void info(String pattern, Object arg) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, pattern, new Object[]{arg});
+        }
+    }
+
+    /**
+     * Logs an info message with two placeholders
+     */
+    public void info(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs an info message with any number of placeholders.
+     * The argument array is allocated by the caller even when INFO is disabled.
+     */
+    public void info(String pattern, Object... args) {
+        if (isEnabled(LogLevel.INFO)) {
+            log(LogLevel.INFO, pattern, args);
+        }
+    }
+
+    /**
+     * Logs a warning message
+     * @param message The message to log
+     */
+    public void warn(String message) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a warning message built only if WARN is enabled
+     */
+    public void warn(Supplier<String> message) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, message.get(), NO_ARGS);
+        }
+    }
+
+    /**
+     * Logs a warning message with one placeholder
+     */
+    public void warn(String pattern, Object arg) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, pattern, new Object[]{arg});
+        }
+    }
+
+    /**
+     * Logs a warning message with two placeholders
+     */
+    public void warn(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs a warning message with any number of placeholders.
+     * The argument array is allocated by the caller even when WARN is disabled.
+     */
+    public void warn(String pattern, Object... args) {
+        if (isEnabled(LogLevel.WARN)) {
+            log(LogLevel.WARN, pattern, args);
+        }
     }
 
     /**
@@ -49,53 +241,253 @@ public class Logger {
      * @param message The message to log
      */
     public void error(String message) {
-        log("ERROR", message);
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, message, NO_ARGS);
+        }
     }
 
     /**
-     * Logs an error message with exception details
-     * @param message The message to log
-     * @param exception The exception to include in the log
+     * Logs an error message built only if ERROR is enabled
      */
-    public void error(String message, Exception exception) {
-        log("ERROR", message + " - " + exception.getMessage());
-        exception.printStackTrace();
+    public void error(Supplier<String> message) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, message.get(), NO_ARGS);
+        }
     }
 
     /**
-     * Logs a debug message
+     * Logs an error message with one placeholder
+     */
+    public void error(String pattern, Object arg) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, pattern, new Object[]{arg});
+        }
+    }
+
+    /**
+     * Logs an error message with two placeholders
+     */
+    public void error(String pattern, Object arg1, Object arg2) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, pattern, new Object[]{arg1, arg2});
+        }
+    }
+
+    /**
+     * Logs an error message with any number of placeholders.
+     * The argument array is allocated by the caller even when ERROR is disabled.
+     */
+    public void error(String pattern, Object... args) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, pattern, args);
+        }
+    }
+
+    /**
+     * Logs an error message with exception details
      * @param message The message to log
+     * @param exception The exception to include in the log
      */
-    public void debug(String message) {
-        log("DEBUG", message);
+    public void error(String message, Exception exception) {
+        if (isEnabled(LogLevel.ERROR)) {
+            log(LogLevel.ERROR, message + " - " + exception.getMessage(), NO_ARGS);
+            exception.printStackTrace();
+        }
     }
 
     /**
      * Writes a log entry to the log file
      * @param level The log level
-     * @param message The message to log
+     * @param pattern The message, with placeholders if args are given
      */
-    private void log(String level, String message) {
-        String timestamp = DATE_FORMAT.format(new Date());
-        String logEntry = String.format("[%s] [%s] [%s] %s", timestamp, level, className, message);
+    private void log(LogLevel level, String pattern, Object[] args) {
+        if (!enabled) {
+            return;
+        }
+        String logEntry = structured ? formatStructured(level, pattern, args) : formatText(level, pattern, args);
+
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null && (writer.append(logEntry, level == LogLevel.ERROR) || writer.isRunning())) {
+            // Queued, or discarded by the overflow policy; a stopped writer falls through to a direct write
+            return;
+        }
 
         // Print to console
         System.out.println(logEntry);
 
         // Write to a file
-        try (PrintWriter writer = new PrintWriter(new FileWriter(LOG_DIRECTORY + File.separator + LOG_FILE, true))) {
-            writer.println(logEntry);
+        try {
+            openLogFile().write(logEntry);
         } catch (IOException e) {
             System.err.println("Failed to write to log file: " + e.getMessage());
         }
     }
 
+    private String formatText(LogLevel level, String pattern, Object[] args) {
+        StringBuilder entry = new StringBuilder(64 + pattern.length());
+        entry.append('[').append(DATE_FORMAT.format(LocalDateTime.now())).append("] [").append(level)
+                .append("] [").append(className).append("] ");
+        if (args.length == 0) {
+            return entry.append(pattern).toString();
+        }
+
+        int arg = 0;
+        int from = 0;
+        int open;
+        while (arg < args.length && (open = pattern.indexOf('{', from)) >= 0) {
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                break;
+            }
+            entry.append(pattern, from, open).append(args[arg++]);
+            from = close + 1;
+        }
+        return entry.append(pattern, from, pattern.length()).toString();
+    }
+
+    private String formatStructured(LogLevel level, String pattern, Object[] args) {
+        StringBuilder entry = new StringBuilder(96 + pattern.length());
+        entry.append("ts=").append(STRUCTURED_DATE_FORMAT.format(LocalDateTime.now()))
+                .append(" level=").append(level)
+                .append(" logger=").append(className)
+                .append(" msg=");
+        appendQuoted(entry, pattern);
+
+        int from = 0;
+        int open;
+        for (int arg = 0; arg < args.length && (open = pattern.indexOf('{', from)) >= 0; arg++) {
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                break;
+            }
+            entry.append(' ');
+            if (close == open + 1) {
+                entry.append("arg").append(arg);
+            } else {
+                entry.append(pattern, open + 1, close);
+            }
+            entry.append('=');
+            String value = String.valueOf(args[arg]);
+            if (needsQuotes(value)) {
+                appendQuoted(entry, value);
+            } else {
+                entry.append(value);
+            }
+            from = close + 1;
+        }
+        return entry.toString();
+    }
+
+    private static boolean needsQuotes(String value) {
+        if (value.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c <= ' ' || c == '"' || c == '=' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendQuoted(StringBuilder entry, String value) {
+        entry.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                entry.append('\\');
+            } else if (c == '\n') {
+                entry.append("\\n");
+                continue;
+            }
+            entry.append(c);
+        }
+        entry.append('"');
+    }
+
     /**
-     * Logs a warning message
-     * @param message The message to log
+     * Read on use rather than at class load, so it can be set until the first entry is written
      */
-    public void warn(String message) {
-        log("WARN", message);
+    private static String logDirectory() {
+        return System.getProperty(DIRECTORY_PROPERTY, "logs");
     }
 
-}
\ No newline at end of file
+    /**
+     * Opens the shared log file on first use
+     */
+    private static RollingLogFile openLogFile() throws IOException {
+        RollingLogFile file = logFile;
+        if (file == null) {
+            synchronized (SYNC_WRITE_LOCK) {
+                file = logFile;
+                if (file == null) {
+                    file = new RollingLogFile(Paths.get(logDirectory()), LOG_NAME, MAX_LOG_BYTES, MAX_LOG_ARCHIVES);
+                    logFile = file;
+                }
+            }
+        }
+        return file;
+    }
+
+    /**
+     * Turns all log output on or off, for headless runs that must not write the log file
+     */
+    public static void setEnabled(boolean enabled) {
+        Logger.enabled = enabled;
+    }
+
+    /**
+     * Switches between the bracketed text format and key/value entries
+     */
+    public static void setStructured(boolean structured) {
+        Logger.structured = structured;
+    }
+
+    /**
+     * Switches all loggers to asynchronous mode.
+     * Entries are queued in a bounded ring buffer and written by a single background thread.
+     * @param capacity Maximum number of queued entries
+     * @param overflowPolicy What to do with new entries while the queue is full
+     */
+    public static synchronized void enableAsync(int capacity, AsyncLogWriter.OverflowPolicy overflowPolicy) {
+        if (asyncWriter != null) {
+            return;
+        }
+        try {
+            asyncWriter = new AsyncLogWriter(openLogFile(), capacity, overflowPolicy, System.out);
+        } catch (IOException e) {
+            System.err.println("Failed to start async logging, falling back to synchronous writes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Blocks until all queued entries have been written
+     */
+    public static void flush() {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Flushes queued entries and stops the background writer.
+     * Later log calls are written synchronously.
+     */
+    public static synchronized void shutdown() {
+        AsyncLogWriter writer = asyncWriter;
+        if (writer != null) {
+            asyncWriter = null;
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * @return Number of entries waiting for the background writer, 0 in synchronous mode
+     */
+    public static int getQueueDepth() {
+        AsyncLogWriter writer = asyncWriter;
+        return writer != null ? writer.getQueueDepth() : 0;
+    }
+}
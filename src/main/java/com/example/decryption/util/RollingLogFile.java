@@ -0,0 +1,318 @@
+package com.example.decryption.util;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Log file that rolls over by size and by date.
+ *
+ * <p>Entries are appended to {@code <base>.log}. When it would grow past the size limit, or
+ * the first entry of a new day arrives, the file is renamed to
+ * {@code <base>-<date>.<n>.log} and a fresh file is started. Renamed segments are gzipped on
+ * a low-priority background thread, so a roll costs a rename and never waits for compression.
+ * Only the newest archives up to the retention limit are kept, which bounds the disk space
+ * used by the logs.
+ *
+ * <p>The file is written through a plain stream rather than a channel: an interrupted thread
+ * that happens to log would otherwise close the file for every other logger.
+ *
+ * <p>Errors are reported to {@code System.err}, since this class sits below {@link Logger}.
+ */
+public class RollingLogFile implements AutoCloseable {
+
+    private static final String EXTENSION = ".log";
+    private static final String COMPRESSED_EXTENSION = ".log.gz";
+    private static final long ROLL_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Orders log files from oldest to newest: rolled segments by date and then by index, compared
+     * as numbers so segment 1000 follows 999, and the active {@code <base>.log} last. A segment
+     * sorts the same whether or not it is compressed yet.
+     */
+    public static final Comparator<Path> FILE_ORDER = (a, b) -> compareNatural(
+            a.getFileName().toString().replace(".gz", ""), b.getFileName().toString().replace(".gz", ""));
+
+    private final Path directory;
+    private final String baseName;
+    private final Path activeFile;
+    private final long maxBytes;
+    private final int maxArchives;
+    private final ExecutorService compressor;
+
+    private FileOutputStream out; // null while a failed reopen is pending
+    private boolean closed;
+    private byte[] scratch = new byte[0];
+    private long size;
+    private LocalDate segmentDate;
+    private long nextRollMillis;
+    private long retryRollMillis;
+    private boolean rollFailing;
+
+    /**
+     * Opens or continues the active log file
+     * @param baseName File name without extension, e.g. {@code game}
+     * @param maxBytes Size after which the active file is rolled
+     * @param maxArchives Number of rolled files to keep
+     */
+    public RollingLogFile(Path directory, String baseName, long maxBytes, int maxArchives) throws IOException {
+        if (maxBytes <= 0 || maxArchives < 0) {
+            throw new IllegalArgumentException("Invalid rolling limits: " + maxBytes + " bytes, " + maxArchives + " archives");
+        }
+        this.directory = directory;
+        this.baseName = baseName;
+        this.activeFile = directory.resolve(baseName + EXTENSION);
+        this.maxBytes = maxBytes;
+        this.maxArchives = maxArchives;
+        this.compressor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "log-compressor");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        Files.createDirectories(directory);
+        open();
+
+        // Segments rolled just before a crash may still be uncompressed
+        for (Path archive : archives()) {
+            if (!archive.getFileName().toString().endsWith(COMPRESSED_EXTENSION)) {
+                compressor.execute(() -> compress(archive));
+            }
+        }
+    }
+
+    /**
+     * Appends a line, rolling first if needed
+     */
+    public void write(String line) throws IOException {
+        write(ByteBuffer.wrap((line + '\n').getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Appends the remaining bytes of a buffer, rolling first if needed.
+     * A single write is never split across files.
+     */
+    public synchronized void write(ByteBuffer data) throws IOException {
+        if (closed) {
+            throw new IOException("Log file is closed: " + activeFile);
+        }
+        if (out == null) {
+            // Reopening after a roll failed; try again rather than losing the log for good
+            open();
+        }
+        long now = System.currentTimeMillis();
+        if (now >= nextRollMillis) {
+            if (size == 0) {
+                setSegmentDate(LocalDate.now());
+            } else if (now >= retryRollMillis) {
+                roll(now);
+            }
+        } else if (size > 0 && size + data.remaining() > maxBytes && now >= retryRollMillis) {
+            roll(now);
+        }
+        int length = data.remaining();
+        if (data.hasArray()) {
+            out.write(data.array(), data.arrayOffset() + data.position(), length);
+        } else {
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            data.get(data.position(), scratch, 0, length);
+            out.write(scratch, 0, length);
+        }
+        data.position(data.limit());
+        size += length;
+    }
+
+    public Path getActiveFile() {
+        return activeFile;
+    }
+
+    /**
+     * @return Rolled files, compressed or not, oldest first
+     */
+    public List<Path> archives() throws IOException {
+        String prefix = baseName + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> {
+                String name = f.getFileName().toString();
+                return name.startsWith(prefix) && (name.endsWith(EXTENSION) || name.endsWith(COMPRESSED_EXTENSION));
+            }).sorted(FILE_ORDER).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Waits until every segment rolled so far has been compressed
+     */
+    public void awaitCompression(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+        try {
+            compressor.submit(() -> { }).get(timeout, unit);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Compares names character by character, except that runs of digits compare by value
+     */
+    static int compareNatural(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (Character.isDigit(ca) && Character.isDigit(cb)) {
+                int endA = i;
+                while (endA < a.length() && Character.isDigit(a.charAt(endA))) {
+                    endA++;
+                }
+                int endB = j;
+                while (endB < b.length() && Character.isDigit(b.charAt(endB))) {
+                    endB++;
+                }
+                while (i < endA - 1 && a.charAt(i) == '0') {
+                    i++;
+                }
+                while (j < endB - 1 && b.charAt(j) == '0') {
+                    j++;
+                }
+                // Without leading zeros, the longer number is the larger one
+                int order = endA - i != endB - j
+                        ? Integer.compare(endA - i, endB - j)
+                        : a.substring(i, endA).compareTo(b.substring(j, endB));
+                if (order != 0) {
+                    return order;
+                }
+                i = endA;
+                j = endB;
+            } else if (ca != cb) {
+                return Character.compare(ca, cb);
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private void open() throws IOException {
+        out = new FileOutputStream(activeFile.toFile(), true);
+        size = Files.size(activeFile);
+        setSegmentDate(size == 0 ? LocalDate.now()
+                : LocalDate.ofInstant(Files.getLastModifiedTime(activeFile).toInstant(), ZoneId.systemDefault()));
+    }
+
+    private void setSegmentDate(LocalDate date) {
+        segmentDate = date;
+        nextRollMillis = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Renames the active file and starts a fresh one.
+     * If the file cannot be moved, e.g. because another process holds it open, logging continues
+     * in the old file and the roll is retried after {@link #ROLL_RETRY_MILLIS}. If the file cannot
+     * be reopened, the next write tries again.
+     */
+    private void roll(long now) throws IOException {
+        out.close();
+        out = null;
+        Path archive;
+        try {
+            archive = nextArchiveName();
+            Files.move(activeFile, archive, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (!rollFailing) {
+                System.err.println("Failed to roll log file " + activeFile + ", continuing in it: " + e.getMessage());
+                rollFailing = true;
+            }
+            retryRollMillis = now + ROLL_RETRY_MILLIS;
+            open();
+            return;
+        }
+        rollFailing = false;
+        compressor.execute(() -> compress(archive));
+        open();
+    }
+
+    private Path nextArchiveName() throws IOException {
+        String prefix = baseName + "-" + segmentDate + ".";
+        int index = 0;
+        for (Path archive : archives()) {
+            String name = archive.getFileName().toString();
+            if (name.startsWith(prefix)) {
+                int end = name.indexOf('.', prefix.length());
+                try {
+                    index = Math.max(index, Integer.parseInt(name.substring(prefix.length(), end)));
+                } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        return directory.resolve(String.format("%s%03d%s", prefix, index + 1, EXTENSION));
+    }
+
+    /**
+     * Runs on the compressor thread
+     */
+    private void compress(Path archive) {
+        Path compressed = archive.resolveSibling(archive.getFileName() + ".gz");
+        Path temp = archive.resolveSibling(archive.getFileName() + ".gz.tmp");
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 1 << 16)) {
+                Files.copy(archive, out);
+            }
+            Files.move(temp, compressed, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.setLastModifiedTime(compressed, Files.getLastModifiedTime(archive));
+            Files.delete(archive);
+        } catch (IOException e) {
+            System.err.println("Failed to compress log file " + archive + ": " + e.getMessage());
+        }
+        deleteOldArchives();
+    }
+
+    private void deleteOldArchives() {
+        try {
+            List<Path> archives = archives();
+            for (int i = 0; i < archives.size() - maxArchives; i++) {
+                Files.deleteIfExists(archives.get(i));
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to delete old log files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Closes the active file and lets pending compressions finish in the background
+     */
+    @Override
+    public synchronized void close() {
+        compressor.shutdown();
+        closed = true;
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close log file: " + e.getMessage());
+            }
+            out = null;
+        }
+    }
+}
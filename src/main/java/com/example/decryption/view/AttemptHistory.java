@@ -0,0 +1,93 @@
+package com.example.decryption.view;
+
+import java.util.List;
+
+/**
+ * The attempt history of the stats panel, kept apart from JavaFX.
+ *
+ * <p>Each update is diffed against the game shown last: only the attempts made since then are
+ * appended, and the previous latest entry is replaced so its cell drops the highlight. Every
+ * game has its own attempt list, so a different list means a new game has started. Once the
+ * retention cap is reached the oldest entries are dropped.
+ */
+public class AttemptHistory {
+
+    private final List<Entry> entries;
+    private final int limit;
+
+    // Attempt list of the game shown last, and how many of its attempts are already in the history
+    private List<String> renderedGame;
+    private int renderedAttempts;
+    private int games;
+
+    /**
+     * @param entries List the entries are written to, such as the items of a list view
+     * @param limit Maximum number of entries kept; older ones are dropped
+     */
+    public AttemptHistory(List<Entry> entries, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("History limit must be positive: " + limit);
+        }
+        this.entries = entries;
+        this.limit = limit;
+    }
+
+    /**
+     * Appends the attempts of the given game that are not shown yet
+     * @return Whether any entry was added
+     */
+    public boolean update(List<String> attemptedWords, List<Integer> feedbackScores) {
+        if (attemptedWords != renderedGame || attemptedWords.size() < renderedAttempts) {
+            renderedGame = attemptedWords;
+            renderedAttempts = 0;
+            games++;
+        }
+
+        int from = renderedAttempts;
+        for (int i = from; i < attemptedWords.size(); i++) {
+            append(i + 1, attemptedWords.get(i), feedbackScores.get(i));
+        }
+        renderedAttempts = attemptedWords.size();
+        return renderedAttempts > from;
+    }
+
+    private void append(int attemptNumber, String word, int correctChars) {
+        // Replace the previous entry so its cell drops the highlight
+        int last = entries.size() - 1;
+        if (last >= 0 && entries.get(last).isLatest()) {
+            entries.set(last, new Entry(entries.get(last).getText(), false));
+        }
+
+        entries.add(new Entry("Game " + games + ", attempt " + attemptNumber + ": " + word +
+                " (Correct Chars: " + correctChars + "/" + word.length() + ")", true));
+
+        // Drop the oldest attempts once the retention cap is reached
+        if (entries.size() > limit) {
+            entries.subList(0, entries.size() - limit).clear();
+        }
+    }
+
+    /**
+     * One line of the history. Entries are immutable so a changed highlight is a new item.
+     */
+    public static final class Entry {
+        private final String text;
+        private final boolean latest;
+
+        Entry(String text, boolean latest) {
+            this.text = text;
+            this.latest = latest;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return Whether this is the most recent attempt
+         */
+        public boolean isLatest() {
+            return latest;
+        }
+    }
+}
@@ -2,6 +2,8 @@
 package com.example.decryption.view;
 
 import com.example.decryption.model.entity.GameState;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
@@ -21,17 +23,23 @@ import java.util.function.Consumer;
  */
 public class GameView {
 
+    /** Default number of attempts kept in the history panel */
+    public static final int DEFAULT_HISTORY_LIMIT = 500;
+
     private final VBox root;
     private final List<Button> wordButtons = new ArrayList<>();
     private final Label feedbackLabel = new Label();
     private final Label scoreLabel = new Label();
     private final Button newGameButton = new Button("New Game");
     private final Button statsButton = new Button("Toggle Stats");
+    private final Button hintButton = new Button("Hint");
 
     // Components for the persistent stats display
     private final VBox statsContainer = new VBox(5);
     private final Label totalScoreLabel = new Label("Total Score: 0");
-    private final VBox attemptHistoryContainer = new VBox(3);
+    private final ObservableList<AttemptHistory.Entry> attemptHistory = FXCollections.observableArrayList();
+    private final ListView<AttemptHistory.Entry> attemptHistoryList = new ListView<>(attemptHistory);
+    private final AttemptHistory history;
     private boolean statsVisible = true;
 
     // Set to keep track of words that have already been guessed
@@ -43,8 +51,17 @@ public class GameView {
     private Consumer<String> onWordSelected;
     private Runnable onNewGameRequested;
     private Runnable onShowStatsRequested;
+    private Runnable onHintRequested;
 
     public GameView() {
+        this(DEFAULT_HISTORY_LIMIT);
+    }
+
+    /**
+     * @param historyLimit Maximum number of attempts kept in the history panel; older ones are dropped
+     */
+    public GameView(int historyLimit) {
+        history = new AttemptHistory(attemptHistory, historyLimit);
         root = new VBox(15);
         root.setPadding(new Insets(20));
         root.setAlignment(Pos.TOP_CENTER);
@@ -80,7 +97,7 @@ public class GameView {
         feedbackLabel.setStyle("-fx-font-size: 14px;");
         scoreLabel.setStyle("-fx-font-size: 14px;");
 
-        HBox controlButtons = new HBox(15, newGameButton, statsButton);
+        HBox controlButtons = new HBox(15, newGameButton, hintButton, statsButton);
         controlButtons.setAlignment(Pos.CENTER);
 
         newGameButton.setOnAction(e -> {
@@ -91,6 +108,12 @@ public class GameView {
             }
         });
 
+        hintButton.setOnAction(e -> {
+            if (onHintRequested != null && !gameOver) {
+                onHintRequested.run();
+            }
+        });
+
         // Set up stats toggle button
         statsButton.setOnAction(e -> {
             statsVisible = !statsVisible;
@@ -125,14 +148,14 @@ public class GameView {
         Label historyHeader = new Label("Attempt History:");
         historyHeader.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
 
-        // Configure attempts container
-        ScrollPane scrollPane = new ScrollPane(attemptHistoryContainer);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setPrefHeight(150);
-        scrollPane.setMaxHeight(150);
+        // Configure the attempt list; it only creates cells for the visible rows
+        attemptHistoryList.setCellFactory(list -> new HistoryCell());
+        attemptHistoryList.setFocusTraversable(false);
+        attemptHistoryList.setPrefHeight(150);
+        attemptHistoryList.setMaxHeight(150);
 
         // Add components to stats container
-        statsContainer.getChildren().addAll(statsHeader, totalScoreLabel, historyHeader, scrollPane);
+        statsContainer.getChildren().addAll(statsHeader, totalScoreLabel, historyHeader, attemptHistoryList);
 
         // Initial visibility
         statsContainer.setVisible(statsVisible);
@@ -155,6 +178,10 @@ public class GameView {
         this.onShowStatsRequested = handler;
     }
 
+    public void setOnHintHandler(Runnable handler) {
+        this.onHintRequested = handler;
+    }
+
     public void updateView(GameState state) {
         List<String> words = state.getWordOptions();
         for (int i = 0; i < wordButtons.size(); i++) {
@@ -186,6 +213,21 @@ public class GameView {
         feedbackLabel.setStyle(isCorrect ? "-fx-text-fill: green;" : "-fx-text-fill: red;");
     }
 
+    /**
+     * Shows the solver's suggestion without revealing the target
+     * @param suggestedWord The recommended guess, or null if no word fits the feedback
+     * @param remainingCandidates Number of words that are still possible
+     */
+    public void showHint(String suggestedWord, int remainingCandidates) {
+        if (suggestedWord == null) {
+            feedbackLabel.setText("Hint: no word matches the feedback so far");
+        } else {
+            feedbackLabel.setText("Hint: try " + suggestedWord + " (" + remainingCandidates
+                    + (remainingCandidates == 1 ? " word" : " words") + " still possible)");
+        }
+        feedbackLabel.setStyle("-fx-text-fill: #0066cc;");
+    }
+
     public void showGameWonMessage(int score) {
         gameOver = true;
         showFeedback("Congratulations! You won! Score: " + score, true);
@@ -237,26 +279,9 @@ public class GameView {
         // Update total score
         totalScoreLabel.setText("Total Score: " + totalScore);
 
-        // Clear previous attempts
-        attemptHistoryContainer.getChildren().clear();
-
-        // Add each attempt to the history
-        for (int i = 0; i < attemptedWords.size(); i++) {
-            // Calculate total characters in the word
-            int wordLength = attemptedWords.get(i).length();
-
-            // Create attempt information label
-            String attemptText = "Attempt " + (i + 1) + ": " + attemptedWords.get(i) +
-                    " (Correct Chars: " + feedbackScores.get(i) + "/" + wordLength + ")";
-            Label attemptLabel = new Label(attemptText);
-
-            // Style based on whether it's the most recent attempt
-            if (i == attemptedWords.size() - 1) {
-                attemptLabel.setStyle("-fx-font-weight: bold; -fx-text-fill: #0066cc;");
-            }
-
-            // Add to container
-            attemptHistoryContainer.getChildren().add(attemptLabel);
+        // Only append the attempts made since the last update
+        if (history.update(attemptedWords, feedbackScores)) {
+            attemptHistoryList.scrollTo(attemptHistory.size() - 1);
         }
 
         // Make sure stats are visible after an update
@@ -312,4 +337,19 @@ public class GameView {
         // Don't clear stats when resetting the game
         // User can see history across games
     }
-}
\ No newline at end of file
+
+    private static final class HistoryCell extends ListCell<AttemptHistory.Entry> {
+        @Override
+        protected void updateItem(AttemptHistory.Entry entry, boolean empty) {
+            super.updateItem(entry, empty);
+            if (empty || entry == null) {
+                setText(null);
+                setStyle("");
+            } else {
+                setText(entry.getText());
+                // Style based on whether it's the most recent attempt
+                setStyle(entry.isLatest() ? "-fx-font-weight: bold; -fx-text-fill: #0066cc;" : "");
+            }
+        }
+    }
+}
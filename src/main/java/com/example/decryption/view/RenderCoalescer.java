@@ -0,0 +1,32 @@
+package com.example.decryption.view;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collapses bursts of render requests into a single render on the JavaFX application thread.
+ * A request made while a render is already pending is absorbed by it, so the view is drawn
+ * once per burst from the latest state, no matter which thread asked.
+ */
+public class RenderCoalescer {
+
+    private final Runnable render;
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    public RenderCoalescer(Runnable render) {
+        this.render = render;
+    }
+
+    /**
+     * Schedules a render unless one is already pending
+     */
+    public void requestRender() {
+        if (pending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                pending.set(false);
+                render.run();
+            });
+        }
+    }
+}
@@ -1,11 +1,17 @@
 module com.example.decryption {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
 
     opens com.example.decryption to javafx.fxml;
 
     exports com.example.decryption;
+    exports com.example.decryption.analytics;
     exports com.example.decryption.model;
+    exports com.example.decryption.model.entity;
     exports com.example.decryption.controller;
+    exports com.example.decryption.server;
+    exports com.example.decryption.simulation;
     exports com.example.decryption.util;
+    exports com.example.decryption.view;
 }
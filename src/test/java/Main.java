@@ -1,16 +1,72 @@
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.example.decryption.analytics.LogAnalyzer;
+import com.example.decryption.analytics.LogSummary;
+import com.example.decryption.model.BinaryDictionary;
+import com.example.decryption.model.BoardGenerator;
+import com.example.decryption.model.Difficulty;
+import com.example.decryption.model.FeedbackCalculator;
+import com.example.decryption.model.GameHistoryLog;
+import com.example.decryption.model.GameReplayer;
 import com.example.decryption.model.GameService;
+import com.example.decryption.model.GameSessionManager;
+import com.example.decryption.model.Leaderboard;
+import com.example.decryption.model.ProfileStore;
 import com.example.decryption.model.ScoreManager;
+import com.example.decryption.model.SolverService;
+import com.example.decryption.model.WordBucket;
 import com.example.decryption.model.WordListProvider;
+import com.example.decryption.model.entity.GameEvent;
+import com.example.decryption.model.entity.GameEventListener;
+import com.example.decryption.model.entity.GameState;
+import com.example.decryption.server.GameServer;
+import com.example.decryption.server.LoadTestClient;
+import com.example.decryption.simulation.PlayerStrategy;
+import com.example.decryption.simulation.SimulationRunner;
+import com.example.decryption.util.AsyncLogWriter;
+import com.example.decryption.util.GameMetrics;
+import com.example.decryption.util.HashedWheelTimer;
+import com.example.decryption.util.LatencyHistogram;
+import com.example.decryption.util.LogLevel;
+import com.example.decryption.util.Logger;
+import com.example.decryption.util.RollingLogFile;
+import com.example.decryption.view.AttemptHistory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.management.ObjectName;
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Test class for core game logic and scoring.
@@ -26,35 +82,26 @@ public class Main {
     private static class MockScoreManager extends ScoreManager {
 
         public MockScoreManager() {
-            super(); // Call the parent constructor
+            super(false); // Keep scores in memory; no journal file or commit thread
             // Now reset all values that might have been loaded from the file
             resetAllStats();
         }
 
         public void resetAllStats() {
             try {
-                // Use reflection to reset the private fields from the parent class
-                Field totalScoreField = ScoreManager.class.getDeclaredField("totalScore");
-                totalScoreField.setAccessible(true);
-                totalScoreField.set(this, 0);
-
-                Field gamesPlayedField = ScoreManager.class.getDeclaredField("gamesPlayed");
-                gamesPlayedField.setAccessible(true);
-                gamesPlayedField.set(this, 0);
-
-                Field gamesWonField = ScoreManager.class.getDeclaredField("gamesWon");
-                gamesWonField.setAccessible(true);
-                gamesWonField.set(this, 0);
+                // Use reflection to reset the private counters of the parent class
+                for (String name : new String[]{"totalScore", "gamesPlayed", "gamesWon"}) {
+                    Field counterField = ScoreManager.class.getDeclaredField(name);
+                    counterField.setAccessible(true);
+                    ((LongAdder) counterField.get(this)).reset();
+                }
 
                 Field attemptDistField = ScoreManager.class.getDeclaredField("attemptDistribution");
                 attemptDistField.setAccessible(true);
 
                 // Reset the attempt distribution
-                Map<Integer, Integer> freshDist = new HashMap<>();
-                for (int i = 1; i <= 5; i++) {
-                    freshDist.put(i, 0);
-                }
-                attemptDistField.set(this, freshDist);
+                Map<?, ?> distribution = (Map<?, ?>) attemptDistField.get(this);
+                distribution.clear();
             } catch (Exception e) {
                 System.err.println("Error resetting stats: " + e.getMessage());
             }
@@ -74,10 +121,7 @@ public class Main {
     @BeforeEach
     public void setup() {
         // Before tests, delete any existing score file to ensure fresh state
-        File scoreFile = new File("scores.dat");
-        if (scoreFile.exists()) {
-            scoreFile.delete();
-        }
+        deleteScoreFiles();
 
         scoreManager = new MockScoreManager();
         wordListProvider = new WordListProvider();
@@ -87,6 +131,15 @@ public class Main {
         scoreManager.resetAllStats();
     }
 
+    private static void deleteScoreFiles() {
+        for (String name : new String[]{"scores.dat", "scores.journal"}) {
+            File scoreFile = new File(name);
+            if (scoreFile.exists()) {
+                scoreFile.delete();
+            }
+        }
+    }
+
     @Test
     public void test1_StartGameDoesNotThrow() {
         assertDoesNotThrow(() -> gameService.startNewGame(), "Starting a game should not throw.");
@@ -138,4 +191,798 @@ public class Main {
         List<String> words = wordListProvider.generateFreshWordList();
         assertTrue(words.stream().allMatch(w -> w instanceof String), "All elements should be strings.");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test7_SessionsPlayIndependentGames() throws Exception {
+        try (GameSessionManager sessions = new GameSessionManager(wordListProvider, scoreManager, 8, 0)) {
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            List<Future<String>> created = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                created.add(pool.submit(() -> {
+                    String id = sessions.createSession();
+                    String word = sessions.getGameState(id).getWordOptions().get(0);
+                    sessions.makeGuess(id, word);
+                    return id;
+                }));
+            }
+            for (Future<String> f : created) {
+                String id = f.get();
+                assertEquals(1, sessions.getGameState(id).getCurrentAttempt(), "Each session should see only its own guess.");
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(100, sessions.getActiveSessionCount());
+            assertEquals(100, sessions.getGuessesProcessed());
+        }
+    }
+
+    @Test
+    public void test8_AsyncLoggerDrainsOnShutdown() throws Exception {
+        Logger.enableAsync(64, AsyncLogWriter.OverflowPolicy.BLOCK);
+        try {
+            Logger logger = new Logger("Test");
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            for (int t = 0; t < 4; t++) {
+                pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        logger.debug("async entry " + i);
+                    }
+                });
+            }
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+            Logger.flush();
+            assertEquals(0, Logger.getQueueDepth(), "Flush should drain the queue.");
+        } finally {
+            Logger.shutdown();
+        }
+
+        // A writer that cannot write must release blocked producers instead of leaving them spinning
+        Path directory = Files.createTempDirectory("logs");
+        try {
+            RollingLogFile closed = new RollingLogFile(directory, "game", 1 << 20, 1);
+            closed.close();
+            AsyncLogWriter failing = new AsyncLogWriter(closed, 2, AsyncLogWriter.OverflowPolicy.BLOCK, null);
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                for (int i = 0; i < 100; i++) {
+                    failing.append("entry " + i, false);
+                }
+            });
+            assertFalse(failing.isRunning(), "A failed writer should stop accepting entries.");
+            assertFalse(failing.append("late entry", true));
+            failing.shutdown();
+
+            // Entries that UTF-8 cannot encode are written in full with a replacement character
+            RollingLogFile file = new RollingLogFile(directory, "encoded", 1 << 20, 1);
+            AsyncLogWriter writer = new AsyncLogWriter(file, 4096, AsyncLogWriter.OverflowPolicy.BLOCK, null);
+            for (int i = 0; i < 3000; i++) {
+                writer.append("entry " + i, false);
+            }
+            writer.append("lone \uD800 surrogate", false);
+            writer.shutdown();
+            List<String> lines = Files.readAllLines(file.getActiveFile());
+            file.close();
+            assertEquals(3001, lines.size(), "Entries drained over several batches should all be written.");
+            assertEquals("lone ? surrogate", lines.get(3000));
+        } finally {
+            for (File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void test9_ScoresSurviveRestartFromSnapshotAndJournal() throws Exception {
+        deleteScoreFiles();
+        try (ScoreManager first = new ScoreManager()) {
+            for (int i = 0; i < 1003; i++) {
+                first.recordGameResult(i % 2 == 0, 1);
+            }
+        }
+
+        try (ScoreManager restored = new ScoreManager()) {
+            assertEquals(1003, restored.getGamesPlayed(), "Snapshot plus journal tail should restore all games.");
+            assertEquals(502, restored.getGamesWon());
+            assertEquals(502 * 200, restored.getTotalScore());
+            assertEquals(502, restored.getAttemptDistribution().get(1));
+
+            // Results recorded concurrently while snapshots are taken are persisted exactly once
+            ExecutorService players = Executors.newFixedThreadPool(4);
+            List<Future<?>> done = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                done.add(players.submit(() -> {
+                    for (int i = 0; i < 1500; i++) {
+                        restored.recordGameResult(true, 2);
+                    }
+                }));
+            }
+            for (Future<?> future : done) {
+                future.get();
+            }
+            players.shutdown();
+            assertEquals(7003, restored.getGamesPlayed());
+            restored.close();
+
+            try (ScoreManager reopened = new ScoreManager()) {
+                assertEquals(7003, reopened.getGamesPlayed());
+                assertEquals(502 + 6000, reopened.getGamesWon());
+                assertEquals(502 * 200 + 6000 * 150, reopened.getTotalScore());
+                assertEquals(6000, reopened.getAttemptDistribution().get(2));
+            }
+        } finally {
+            deleteScoreFiles();
+        }
+    }
+
+    @Test
+    public void test10_BinaryDictionaryRoundTrip() throws Exception {
+        Path dictionary = Files.createTempFile("words", ".dict");
+        try {
+            BinaryDictionary.write(wordListProvider.getBuckets(), dictionary);
+            WordListProvider mapped = WordListProvider.fromBinaryDictionary(dictionary);
+
+            assertEquals(wordListProvider.getWordCount(), mapped.getWordCount(), "Mapped dictionary should hold every word.");
+            assertEquals(wordListProvider.getBuckets().keySet(), mapped.getBuckets().keySet());
+            for (Integer length : wordListProvider.getBuckets().keySet()) {
+                assertEquals(wordListProvider.getBuckets().get(length).asList(), mapped.getBuckets().get(length).asList());
+            }
+            assertEquals(8, mapped.generateFreshWordList().size());
+        } finally {
+            Files.deleteIfExists(dictionary);
+        }
+    }
+
+    @Test
+    public void test11_BulkBoardsHoldDistinctWordsOfOneLength() {
+        List<List<String>> boards = wordListProvider.generateFreshWordLists(500);
+        assertEquals(500, boards.size());
+        for (List<String> board : boards) {
+            assertEquals(8, board.size());
+            assertEquals(8, new HashSet<>(board).size(), "Board words should be distinct.");
+            assertTrue(board.stream().allMatch(w -> w.length() == board.get(0).length()), "Board words should share one length.");
+        }
+    }
+
+    @Test
+    public void test12_BatchFeedbackMatchesScalarComparison() {
+        for (int length : wordListProvider.getBuckets().keySet()) {
+            List<String> words = wordListProvider.getBuckets().get(length).asList().subList(0, 8);
+            byte[] packed = FeedbackCalculator.pack(words);
+            int[] matrix = FeedbackCalculator.matchMatrix(packed, words.size(), length);
+            for (int i = 0; i < words.size(); i++) {
+                for (int j = 0; j < words.size(); j++) {
+                    assertEquals(FeedbackCalculator.matchCount(words.get(i), words.get(j)), matrix[i * words.size() + j],
+                            "Packed feedback should equal character comparison for " + words.get(i) + "/" + words.get(j));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test13_HintCandidatesAlwaysContainTarget() {
+        for (int game = 0; game < 50; game++) {
+            gameService.startNewGame();
+            String target = gameService.getGameState().getTargetWord();
+            while (!gameService.getGameState().isGameOver()) {
+                SolverService.Hint hint = gameService.getHint();
+                assertTrue(hint.getRemainingCandidates().contains(target), "The target must never be eliminated.");
+                gameService.makeGuess(hint.getSuggestedWord());
+            }
+        }
+    }
+
+    @Test
+    public void test14_GeneratedBoardsStayInDifficultyBand() {
+        BoardGenerator generator = new BoardGenerator();
+        WordBucket bucket = wordListProvider.getBuckets().get(5);
+        Random random = new Random(42);
+        for (Difficulty difficulty : Difficulty.values()) {
+            List<String> board = generator.generate(bucket, difficulty, 8, random);
+            assertNotNull(board, "A 5-letter " + difficulty + " board should exist.");
+            assertEquals(8, new HashSet<>(board).size());
+            for (String a : board) {
+                for (String b : board) {
+                    if (a.equals(b)) continue;
+                    int matches = FeedbackCalculator.matchCount(a, b);
+                    assertTrue(matches >= difficulty.minMatches(5) && matches <= difficulty.maxMatches(5),
+                            difficulty + " board pair " + a + "/" + b + " has " + matches + " matches");
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test15_MetricsTrackLatencyAndExposeMBeans() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMaxNanos());
+        assertEquals(500_000, histogram.getPercentileNanos(50), 500_000 * 0.04, "Median should be within bucket precision.");
+        assertEquals(990_000, histogram.getPercentileNanos(99), 990_000 * 0.04);
+
+        GameMetrics metrics = GameMetrics.getInstance();
+        metrics.registerMBeans();
+        long guessesBefore = metrics.getGuesses();
+        gameService.startNewGame();
+        gameService.makeGuess(gameService.getGameState().getWordOptions().get(0));
+        assertEquals(guessesBefore + 1, metrics.getGuesses());
+
+        Object count = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(GameMetrics.DOMAIN + ":type=Latency,name=makeGuess"), "Count");
+        assertTrue((Long) count > 0, "Guess latency should be visible over JMX.");
+    }
+
+    @Test
+    public void test16_EventsFollowTheGameAcrossNewBoards() {
+        List<GameEvent.Type> events = new ArrayList<>();
+        GameEventListener listener = event -> events.add(event.getType());
+        gameService.addListener(listener);
+
+        for (int game = 0; game < 2; game++) {
+            gameService.startNewGame();
+            String target = gameService.getGameState().getTargetWord();
+            for (String word : gameService.getGameState().getWordOptions()) {
+                if (!word.equals(target)) {
+                    gameService.makeGuess(word);
+                    break;
+                }
+            }
+            gameService.makeGuess(target);
+        }
+
+        List<GameEvent.Type> oneGame = List.of(GameEvent.Type.NEW_BOARD, GameEvent.Type.GUESS_MADE,
+                GameEvent.Type.GUESS_MADE, GameEvent.Type.GAME_OVER);
+        List<GameEvent.Type> expected = new ArrayList<>(oneGame);
+        expected.addAll(oneGame);
+        assertEquals(expected, events, "Listeners should keep receiving events after a new game.");
+
+        gameService.removeListener(listener);
+        gameService.startNewGame();
+        assertEquals(8, events.size(), "Removed listeners should not be called.");
+    }
+
+    @Test
+    public void test17_DailyBoardsAreDeterministicPerDate() {
+        WordListProvider other = new WordListProvider();
+        LocalDate date = LocalDate.of(2024, 3, 1);
+
+        List<String> board = wordListProvider.getDailyWordList(date);
+        assertEquals(8, board.size());
+        assertEquals(8, new HashSet<>(board).size(), "Daily board words should be distinct.");
+        assertEquals(board, other.getDailyWordList(date), "Every provider should derive the same board for a date.");
+        assertSame(board, wordListProvider.getDailyWordList(date), "Daily boards should be cached.");
+        assertNotEquals(board, wordListProvider.getDailyWordList(date.plusDays(1)));
+    }
+
+    @Test
+    public void test18_ImportCountsOnlyNewWords() throws Exception {
+        Path file = Files.createTempFile("custom-words", ".txt");
+        try {
+            Files.write(file, List.of("zyxwv", "ZYXWV", "  qwertz  ", "", "apple", "zyxwvut", "ÄPFEL"));
+            int before = wordListProvider.getWordCount();
+            boolean appleKnown = wordListProvider.getBuckets().get(5).contains(WordBucket.encode("APPLE"));
+
+            int added = wordListProvider.importWords(file);
+            assertEquals(appleKnown ? 4 : 5, added, "Duplicates and known words should not be counted.");
+            assertEquals(before + added, wordListProvider.getWordCount());
+            assertTrue(wordListProvider.getBuckets().get(6).contains(WordBucket.encode("QWERTZ")));
+            assertTrue(wordListProvider.getBuckets().get(5).contains(WordBucket.encode("ÄPFEL")));
+
+            assertEquals(0, wordListProvider.importWords(file), "Re-importing should add nothing.");
+            assertEquals(1, wordListProvider.addCustomWords(List.of("zyxwv", "Qqqqq", "QQQQQ")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void test19_WatchedDirectoryReloadsWithoutTouchingBoards() throws Exception {
+        Path directory = Files.createTempDirectory("wordlists");
+        WordListProvider provider = null;
+        try {
+            Files.write(directory.resolve("a.txt"), List.of("alpha", "bravo", "delta"));
+            provider = WordListProvider.fromDirectory(directory);
+            Map<Integer, WordBucket> before = provider.getBuckets();
+            List<String> board = new ArrayList<>(provider.generateFreshWordList());
+            provider.watchDirectory(directory);
+
+            Files.write(directory.resolve("b.txt"), List.of("gamma", "omega"));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (provider.getWordCount() != 5 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertEquals(5, provider.getWordCount(), "The new word list should be picked up.");
+            assertEquals(3, before.get(5).size(), "Earlier snapshots should not change.");
+            assertTrue(board.containsAll(List.of("ALPHA", "BRAVO", "DELTA")));
+        } finally {
+            if (provider != null) {
+                provider.stopWatching();
+            }
+            Files.deleteIfExists(directory.resolve("a.txt"));
+            Files.deleteIfExists(directory.resolve("b.txt"));
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void test20_AsyncLoadingServesBoardsBeforeAllBucketsAreReady() {
+        WordListProvider provider = WordListProvider.loadAsync();
+        List<String> board = provider.generateFreshWordList();
+        assertEquals(8, board.size(), "A board should be available while the rest is loading.");
+        assertEquals(1, board.stream().mapToInt(String::length).distinct().count());
+
+        provider.awaitLoaded();
+        assertTrue(provider.isLoaded());
+        assertEquals(wordListProvider.getWordCount(), provider.getWordCount());
+        assertEquals(wordListProvider.getBuckets().keySet(), provider.getBuckets().keySet());
+    }
+
+    @Test
+    public void test21_SimulationPlaysEveryGameAndSolverBeatsRandom() throws Exception {
+        long journalLength = new File("scores.journal").length();
+        SimulationRunner.SimulationResult random =
+                new SimulationRunner(wordListProvider, PlayerStrategy.forName("random"), null, 2).run(400, 1);
+        SimulationRunner.SimulationResult solver =
+                new SimulationRunner(wordListProvider, PlayerStrategy.forName("solver"), null, 2).run(400, 1);
+
+        for (SimulationRunner.SimulationResult result : List.of(random, solver)) {
+            assertEquals(400, result.getGamesPlayed());
+            int wins = result.getAttemptDistribution().values().stream().mapToInt(Integer::intValue).sum();
+            assertEquals(result.getGamesWon(), wins, "Every win should appear in the attempt distribution.");
+        }
+        assertTrue(solver.getWinPercentage() > random.getWinPercentage(),
+                "Solver " + solver.getWinPercentage() + "% should beat random " + random.getWinPercentage() + "%");
+        assertEquals(journalLength, new File("scores.journal").length(), "Simulations should not touch the score files.");
+    }
+
+    @Test
+    public void test22_ServerPlaysConcurrentLoopbackClients() throws Exception {
+        GameSessionManager sessions = new GameSessionManager(wordListProvider, ScoreManager.inMemory());
+        try (GameServer server = new GameServer(sessions)) {
+            server.start(InetAddress.getLoopbackAddress(), 0);
+            LoadTestClient.LoadTestResult result =
+                    new LoadTestClient("127.0.0.1", server.getPort()).run(50, 4, 7);
+
+            assertEquals(0, result.getErrors());
+            assertEquals(200, result.getGamesCompleted());
+            assertThrows(GameSessionManager.UnknownSessionException.class, () -> sessions.makeGuess("missing", "WORD"));
+            assertTrue(result.getLatency().getCount() >= 200 * 2, "Every game takes a NEW and at least one GUESS.");
+
+            // Names that could break the TOP response's separators are rejected
+            try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                 PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+                for (String name : new String[]{"eve\tx", "eve:1", "x".repeat(GameServer.MAX_PLAYER_NAME_LENGTH + 1)}) {
+                    out.println("NAME " + name);
+                    assertTrue(in.readLine().startsWith("ERROR "), "Name should be rejected: " + name);
+                }
+                out.println("NAME Eve_2.0");
+                assertEquals("OK", in.readLine());
+                out.println("QUIT");
+                assertEquals("BYE", in.readLine());
+            }
+        } finally {
+            sessions.close();
+        }
+    }
+
+    @Test
+    public void test23_LeaderboardRanksMatchSortedTotals() throws Exception {
+        Path snapshot = Files.createTempFile("leaderboard", ".dat");
+        try {
+            Leaderboard leaderboard = new Leaderboard(snapshot, 0);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int seed = t;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 5000; i++) {
+                        leaderboard.submitScore("player" + random.nextInt(1000), random.nextInt(5) * 50);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            List<Leaderboard.Entry> all = leaderboard.top(Integer.MAX_VALUE);
+            assertEquals(leaderboard.size(), all.size());
+            for (int i = 1; i < all.size(); i++) {
+                assertTrue(all.get(i - 1).getScore() >= all.get(i).getScore(), "Top list should be sorted.");
+            }
+            for (Leaderboard.Entry entry : all) {
+                long above = all.stream().filter(e -> e.getScore() > entry.getScore()).count();
+                assertEquals(above + 1, leaderboard.rank(entry.getPlayer()), "Rank of " + entry.getPlayer());
+            }
+
+            leaderboard.close();
+            Leaderboard reloaded = new Leaderboard(snapshot, 0);
+            assertEquals(leaderboard.size(), reloaded.size());
+            assertEquals(leaderboard.get("player7").getScore(), reloaded.get("player7").getScore());
+            assertEquals(leaderboard.rank("player7"), reloaded.rank("player7"));
+
+            // Large totals cost no extra memory, and an overflowing submission changes nothing
+            Leaderboard large = new Leaderboard();
+            large.submitScore("high", Integer.MAX_VALUE - 1);
+            large.submitScore("low", 5);
+            assertEquals(1, large.rank("high"));
+            assertEquals(2, large.rank("low"));
+            assertThrows(IllegalArgumentException.class, () -> large.submitScore("high", 2));
+            assertEquals(Integer.MAX_VALUE - 1, large.get("high").getScore());
+            assertEquals(2, large.top(10).size());
+            assertEquals(2, large.rankOfScore(5));
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    @Test
+    public void test24_ProfilesUpdateInPlaceAndSurviveReopen() throws Exception {
+        Path file = Files.createTempFile("profiles", ".dat");
+        try {
+            ProfileStore store = new ProfileStore(file);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        store.recordGameResult(42, i % 2 == 0, 2, i % 2 == 0 ? 150 : 0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            store.recordGameResult(3_000_000, true, 1, 200);
+
+            ProfileStore.Profile profile = store.getProfile(42);
+            assertEquals(4000, profile.getGamesPlayed());
+            assertEquals(2000, profile.getGamesWon());
+            assertEquals(300_000, profile.getTotalScore());
+            assertEquals(2000, profile.getAttemptDistribution().get(2));
+            assertNull(store.getProfile(43), "Unused ids should have no profile.");
+            long size = Files.size(file);
+            assertNull(store.getProfile(Integer.MAX_VALUE));
+            assertEquals(size, Files.size(file), "Looking up an unknown id should not grow the file.");
+            store.close();
+
+            ProfileStore reopened = new ProfileStore(file);
+            assertEquals(4000, reopened.getProfile(42).getGamesPlayed());
+            assertEquals(200, reopened.getProfile(3_000_000).getTotalScore());
+            reopened.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void test25_WheelTimerFiresUncancelledTimeoutsAndExpiresTimedGames() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer(1, TimeUnit.MILLISECONDS, 64, "test-timer")) {
+            AtomicInteger fired = new AtomicInteger();
+            Random random = new Random(1);
+            int cancelled = 0;
+            for (int i = 0; i < 100_000; i++) {
+                HashedWheelTimer.Timeout timeout = timer.newTimeout(fired::incrementAndGet, random.nextInt(200), TimeUnit.MILLISECONDS);
+                if (i % 2 == 1 && timeout.cancel()) {
+                    cancelled++;
+                }
+            }
+            assertTrue(cancelled > 40_000, "Most timeouts should still be pending when cancelled.");
+            long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (timer.getPendingCount() > 0 && System.nanoTime() < waitUntil) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, timer.getPendingCount());
+            assertEquals(100_000 - cancelled, fired.get(), "Only uncancelled timeouts should fire.");
+
+            ScoreManager scores = ScoreManager.inMemory();
+            GameService timedService = new GameService(wordListProvider, scores);
+            timedService.setTimedMode(timer, 0, 50);
+            timedService.startNewGame();
+            GameState state = timedService.getGameState();
+            timedService.makeGuess(state.getWordOptions().stream().filter(w -> !w.equals(state.getTargetWord())).findFirst().get());
+            waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!timedService.getGameState().isGameOver() && System.nanoTime() < waitUntil) {
+                Thread.sleep(10);
+            }
+            assertTrue(state.isTimedOut(), "The game should expire after the guess deadline.");
+            assertEquals(1, scores.getGamesPlayed());
+            assertEquals(0, scores.getGamesWon());
+            assertFalse(timedService.makeGuess(state.getTargetWord()).isCorrect());
+        }
+    }
+
+    @Test
+    public void test26_HistoryLogReplaysEveryGameAcrossSegments() throws Exception {
+        Path directory = Files.createTempDirectory("history");
+        try {
+            GameHistoryLog log = new GameHistoryLog(directory, 128 * 1024, 0);
+            GameService recorded = new GameService(wordListProvider, ScoreManager.inMemory());
+            recorded.addListener(log.newRecorder());
+            PlayerStrategy solver = PlayerStrategy.forName("solver");
+            SplittableRandom random = new SplittableRandom(3);
+            List<GameState> played = new ArrayList<>();
+            for (int i = 0; i < 3000; i++) {
+                recorded.startNewGame();
+                while (!recorded.getGameState().isGameOver()) {
+                    recorded.makeGuess(solver.nextGuess(recorded, random));
+                }
+                played.add(recorded.getGameState());
+            }
+            log.close();
+            assertTrue(played.get(0).getGameId() > 0, "Games should carry the id their log lines use.");
+            assertEquals(played.get(0).getGameId() + 1, played.get(1).getGameId());
+
+            GameReplayer replayer = new GameReplayer(directory);
+            assertEquals(played.size(), replayer.forEachGame(state -> assertTrue(state.isGameOver())));
+            for (int id : new int[]{0, 1234, 2999}) {
+                GameState original = played.get(id);
+                GameState replayed = replayer.replay(id);
+                assertEquals(original.getWordOptions(), replayed.getWordOptions());
+                assertEquals(original.getTargetWord(), replayed.getTargetWord());
+                assertEquals(original.getAttemptedWords(), replayed.getAttemptedWords());
+                assertEquals(original.getFeedbackScores(), replayed.getFeedbackScores());
+                assertEquals(original.isGameWon(), replayed.isGameWon());
+                assertEquals(original.getCurrentScore(), replayed.getCurrentScore());
+            }
+            assertNull(replayer.replay(3000));
+
+            GameHistoryLog reopened = new GameHistoryLog(directory, 128 * 1024, 0);
+            long nextId = reopened.beginGame(played.get(0).getWordOptions(), played.get(0).getTargetWord());
+            assertTrue(nextId >= 3000, "Ids should continue after the previous run.");
+            reopened.close();
+            assertEquals(played.size(), replayer.forEachGame(state -> { }), "Reopening should not lose recorded games.");
+
+            // Segments holding only events of earlier games must survive a restart
+            GameHistoryLog guessesOnly = new GameHistoryLog(directory, 128 * 1024, 0);
+            guessesOnly.recordGuess(nextId, 1, 0);
+            guessesOnly.close();
+            new GameHistoryLog(directory, 128 * 1024, 0).close();
+            assertEquals(1, replayer.replay(nextId).getAttemptedWords().size(), "No recorded event should be overwritten.");
+        } finally {
+            for (File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void test27_LogAnalyzerStitchesGamesAcrossChunks() throws Exception {
+        Path log = Files.createTempFile("game", ".log");
+        try {
+            String[] words = {"ALPHA", "INDEX FINGER", "PLANET"};
+            int[] won = new int[words.length];
+            int[] finished = new int[words.length];
+            int attemptSum = 0;
+            StringBuilder text = new StringBuilder();
+            Random random = new Random(5);
+            for (int i = 0; i < 5000; i++) {
+                int w = random.nextInt(words.length);
+                int attempts = 1 + random.nextInt(5);
+                text.append("[2026-01-01 10:00:00] [INFO] [GameService] New game started with target word: ").append(words[w]).append('\n');
+                text.append("[2026-01-01 10:00:00] [INFO] [GameService] Word options: ").append(String.join(", ", words)).append('\n');
+                if (i % 100 == 99) {
+                    continue; // abandoned
+                }
+                if (random.nextBoolean()) {
+                    text.append("[2026-01-01 10:00:00] [INFO] [ScoreManager] Game won on attempt ").append(attempts).append(" with score 50\n");
+                    text.append("[2026-01-01 10:00:00] [INFO] [GameService] Player won on attempt ").append(attempts).append(" with score 50\n");
+                    won[w]++;
+                } else {
+                    text.append("[2026-01-01 10:00:00] [INFO] [GameService] Player lost after ").append(attempts).append(" attempts\n");
+                }
+                finished[w]++;
+                attemptSum += attempts;
+            }
+            Files.writeString(log, text);
+
+            LogSummary summary = new LogAnalyzer(4096).analyze(log);
+            assertEquals(5000, summary.getTotal().getGamesStarted());
+            assertEquals(4950, summary.getTotal().getGamesFinished());
+            assertEquals((double) attemptSum / 4950, summary.getTotal().getMeanAttempts(), 1e-9);
+            for (int w = 0; w < words.length; w++) {
+                assertEquals(finished[w], summary.getWordStats(words[w]).getGamesFinished(), words[w]);
+                assertEquals(won[w], summary.getWordStats(words[w]).getGamesWon(), words[w]);
+            }
+            assertEquals(finished[1], summary.getLengthStats("INDEX FINGER".length()).getGamesFinished());
+
+            // Games of concurrent sessions interleave and are paired by their id, in either format
+            Arrays.fill(won, 0);
+            Arrays.fill(finished, 0);
+            attemptSum = 0;
+            text.setLength(0);
+            List<long[]> playing = new ArrayList<>(); // {game id, word}
+            long nextGame = 1;
+            int started = 0;
+            while (started < 5000 || !playing.isEmpty()) {
+                boolean kv = random.nextBoolean();
+                if (started < 5000 && (playing.size() < 50 || random.nextInt(3) == 0)) {
+                    int w = random.nextInt(words.length);
+                    playing.add(new long[]{nextGame, w});
+                    text.append(kv
+                            ? "ts=2026-01-01T10:00:00 level=INFO logger=GameService msg=\"Game {game} started with target word: {target}\" game="
+                                    + nextGame + " target=\"" + words[w] + "\"\n"
+                            : "[2026-01-01 10:00:00] [INFO] [GameService] Game " + nextGame + " started with target word: " + words[w] + "\n");
+                    nextGame++;
+                    started++;
+                    continue;
+                }
+                long[] game = playing.remove(random.nextInt(playing.size()));
+                int w = (int) game[1];
+                int attempts = 1 + random.nextInt(5);
+                if (game[0] % 100 == 0) {
+                    continue; // abandoned
+                }
+                if (random.nextBoolean()) {
+                    text.append("[2026-01-01 10:00:00] [INFO] [ScoreManager] Game won on attempt ").append(attempts).append(" with score 50\n");
+                    text.append(kv
+                            ? "ts=2026-01-01T10:00:00 level=INFO logger=GameService msg=\"Game {game} won on attempt {attempt} with score {score}\" game="
+                                    + game[0] + " attempt=" + attempts + " score=50\n"
+                            : "[2026-01-01 10:00:00] [INFO] [GameService] Game " + game[0] + " won on attempt " + attempts + " with score 50\n");
+                    won[w]++;
+                } else {
+                    text.append(kv
+                            ? "ts=2026-01-01T10:00:00 level=INFO logger=GameService msg=\"Game {game} timed out after {attempts} attempts\" game="
+                                    + game[0] + " attempts=" + attempts + "\n"
+                            : "[2026-01-01 10:00:00] [INFO] [GameService] Game " + game[0] + " lost after " + attempts + " attempts\n");
+                }
+                finished[w]++;
+                attemptSum += attempts;
+            }
+            Files.writeString(log, text);
+
+            summary = new LogAnalyzer(4096).analyze(log);
+            assertEquals(5000, summary.getTotal().getGamesStarted());
+            assertEquals(4950, summary.getTotal().getGamesFinished());
+            assertEquals((double) attemptSum / 4950, summary.getTotal().getMeanAttempts(), 1e-9);
+            for (int w = 0; w < words.length; w++) {
+                assertEquals(finished[w], summary.getWordStats(words[w]).getGamesFinished(), words[w]);
+                assertEquals(won[w], summary.getWordStats(words[w]).getGamesWon(), words[w]);
+            }
+        } finally {
+            Files.deleteIfExists(log);
+        }
+    }
+
+    @Test
+    public void test28_RolledLogsAreCompressedKeptWithinLimitsAndAnalyzed() throws Exception {
+        Path directory = Files.createTempDirectory("logs");
+        try {
+            RollingLogFile log = new RollingLogFile(directory, "game", 2000, 100);
+            for (int i = 0; i < 200; i++) {
+                log.write("[2026-01-01 10:00:00] [INFO] [GameService] New game started with target word: ALPHA");
+                log.write("[2026-01-01 10:00:00] [INFO] [GameService] Player won on attempt 2 with score 150");
+            }
+            log.awaitCompression(10, TimeUnit.SECONDS);
+            assertTrue(Files.size(log.getActiveFile()) <= 2000, "The active file should stay below the size limit.");
+            assertTrue(log.archives().size() > 10);
+            for (Path archive : log.archives()) {
+                assertTrue(archive.toString().endsWith(".log.gz"), "Rolled files should be compressed: " + archive);
+            }
+            log.close();
+
+            // A segment caught mid-compression exists in both forms and must be counted once
+            Path compressed = log.archives().get(0);
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+                Files.copy(in, compressed.resolveSibling(compressed.getFileName().toString().replace(".gz", "")));
+            }
+
+            LogSummary summary = new LogAnalyzer().analyze(directory);
+            assertEquals(200, summary.getTotal().getGamesFinished());
+            assertEquals(200, summary.getWordStats("ALPHA").getGamesWon());
+
+            RollingLogFile limited = new RollingLogFile(directory, "game", 2000, 3);
+            for (int i = 0; i < 30; i++) {
+                limited.write("[2026-01-01 10:00:00] [INFO] [Test] filler line " + i);
+            }
+            limited.awaitCompression(10, TimeUnit.SECONDS);
+            assertEquals(3, limited.archives().size(), "Only the newest archives should be kept.");
+            limited.close();
+            for (File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+
+            // Segment indices compare as numbers, so segment 1000 follows 999 in a long day
+            String[] segments = {"game-2026-01-01.999.log.gz", "game-2026-01-01.1000.log.gz"};
+            String[] lines = {"[2026-01-01 10:00:00] [INFO] [GameService] New game started with target word: ALPHA",
+                    "[2026-01-01 10:00:00] [INFO] [GameService] Player won on attempt 2 with score 150"};
+            for (int i = 0; i < segments.length; i++) {
+                try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(directory.resolve(segments[i])))) {
+                    out.write((lines[i] + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            RollingLogFile numbered = new RollingLogFile(directory, "game", 2000, 100);
+            assertEquals(directory.resolve(segments[0]), numbered.archives().get(0));
+            numbered.close();
+            assertEquals(1, new LogAnalyzer().analyze(directory).getTotal().getGamesWon());
+        } finally {
+            for (File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    public void test29_LogLevelsSkipDisabledMessagesAndKeyValueEntriesAreAnalyzed() throws Exception {
+        System.setProperty("decryption.log.level.LevelTest", "WARN");
+        try {
+            Logger levelLogger = new Logger("LevelTest");
+            assertFalse(levelLogger.isDebugEnabled());
+            assertFalse(levelLogger.isEnabled(LogLevel.INFO));
+            assertTrue(levelLogger.isEnabled(LogLevel.WARN));
+            AtomicInteger built = new AtomicInteger();
+            levelLogger.debug(() -> "expensive " + built.incrementAndGet());
+            levelLogger.info(() -> "expensive " + built.incrementAndGet());
+            assertEquals(0, built.get(), "Messages of disabled levels should never be built.");
+        } finally {
+            System.clearProperty("decryption.log.level.LevelTest");
+        }
+
+        Path log = Files.createTempFile("game", ".log");
+        try {
+            Files.writeString(log, String.join("\n",
+                    "ts=2026-01-01T10:00:00 level=INFO logger=GameService msg=\"New game started with target word: {target}\" target=ALPHA",
+                    "ts=2026-01-01T10:00:00 level=INFO logger=ScoreManager msg=\"Game won on attempt {attempt} with score {score}\" attempt=3 score=100",
+                    "ts=2026-01-01T10:00:00 level=INFO logger=GameService msg=\"Player won on attempt {attempt} with score {score}\" attempt=3 score=100",
+                    "ts=2026-01-01T10:00:00 level=INFO logger=GameService msg=\"New game started with target word: {target}\" target=\"INDEX FINGER\"",
+                    "ts=2026-01-01T10:00:00 level=INFO logger=GameService msg=\"Player lost after {attempts} attempts\" attempts=5",
+                    "[2026-01-01 10:00:00] [INFO] [GameService] New game started with target word: ALPHA",
+                    "[2026-01-01 10:00:00] [INFO] [GameService] Time ran out after 2 attempts",
+                    ""));
+
+            LogSummary summary = new LogAnalyzer().analyze(log);
+            assertEquals(3, summary.getTotal().getGamesFinished());
+            assertEquals(1, summary.getWordStats("ALPHA").getGamesWon());
+            assertEquals(2.5, summary.getWordStats("ALPHA").getMeanAttempts(), 1e-9);
+            assertEquals(5.0, summary.getWordStats("INDEX FINGER").getMeanAttempts(), 1e-9);
+        } finally {
+            Files.deleteIfExists(log);
+        }
+    }
+
+    @Test
+    public void test30_AttemptHistoryAppendsOnlyNewAttemptsWithinItsLimit() {
+        List<AttemptHistory.Entry> entries = new ArrayList<>();
+        AttemptHistory history = new AttemptHistory(entries, 4);
+        assertThrows(IllegalArgumentException.class, () -> new AttemptHistory(new ArrayList<>(), 0));
+
+        List<String> firstGame = new ArrayList<>(List.of("ALPHA", "BRAVO"));
+        List<Integer> firstFeedback = new ArrayList<>(List.of(1, 2));
+        assertTrue(history.update(firstGame, firstFeedback));
+        assertFalse(history.update(firstGame, firstFeedback), "An unchanged game should add nothing.");
+        assertEquals(2, entries.size());
+
+        firstGame.add("DELTA");
+        firstFeedback.add(0);
+        AttemptHistory.Entry second = entries.get(1);
+        assertTrue(history.update(firstGame, firstFeedback));
+        assertEquals(3, entries.size());
+        assertNotSame(second, entries.get(1), "The previous latest entry should be replaced, not mutated.");
+        assertEquals(second.getText(), entries.get(1).getText());
+        assertFalse(entries.get(1).isLatest());
+        assertEquals("Game 1, attempt 3: DELTA (Correct Chars: 0/5)", entries.get(2).getText());
+
+        // A new game with as many attempts as the last is still recognized and appended in full
+        List<String> secondGame = new ArrayList<>(List.of("ECHO", "FOXTROT", "GOLF"));
+        List<Integer> secondFeedback = new ArrayList<>(List.of(0, 1, 4));
+        assertTrue(history.update(secondGame, secondFeedback));
+        assertEquals(4, entries.size(), "The oldest entries should be dropped at the limit.");
+        assertEquals("Game 1, attempt 3: DELTA (Correct Chars: 0/5)", entries.get(0).getText());
+        assertEquals("Game 2, attempt 1: ECHO (Correct Chars: 0/4)", entries.get(1).getText());
+        assertEquals("Game 2, attempt 3: GOLF (Correct Chars: 4/4)", entries.get(3).getText());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(i == entries.size() - 1, entries.get(i).isLatest(), "Only the last entry is highlighted.");
+        }
+    }
+}